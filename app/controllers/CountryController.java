@@ -1,7 +1,13 @@
 package controllers;
 
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import play.libs.Json;
@@ -17,7 +23,7 @@ import play.libs.concurrent.HttpExecutionContext;
 import requests.CreateCountryRequest;
 import requests.UpdateCountryRequest;
 import services.CountryService;
-import utils.Utils;
+import utils.ResponseEncoder;
 
 public class CountryController extends BaseController
 {
@@ -35,52 +41,46 @@ public class CountryController extends BaseController
 		this.httpExecutionContext = httpExecutionContext;
 	}
 
-	public CompletionStage<Result> getAll()
+	public CompletionStage<Result> getAll(Http.Request request)
 	{
-		return this.countryService.getAll().thenApplyAsync(list -> ok(Json.toJson(list)), this.httpExecutionContext.current());
+		return ReadConsistency.from(request).supply(this.countryService::getAll).thenApplyAsync(list -> ResponseEncoder.okChunked(request, list), this.httpExecutionContext.current());
 	}
 
-	public CompletionStage<Result> get(Long id)
+	public CompletionStage<Result> get(Long id, Http.Request request)
 	{
-		return CompletableFuture.supplyAsync(() -> this.countryService.get(id)).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
+		return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.countryService.get(id)))).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
 	}
 
-    public CompletionStage<Result> getByName(String name)
+    public CompletionStage<Result> getByName(String name, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.countryService.get(URLDecoder.decode(name))).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.countryService.get(URLDecoder.decode(name))))).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
     }
 
+	@BodyParser.Of(JsonBodyParser.class)
 	public CompletionStage<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateCountryRequest createCountryRequest;
-            try
-            {
-                createCountryRequest = Utils.convertObject(request.body().asJson(), CreateCountryRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateCountryRequest createCountryRequest = request.body().as(JsonBody.class).as(CreateCountryRequest.class);
+            if(null == createCountryRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.countryService.create(createCountryRequest);
-        }).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
+        })).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateCountryRequest updateCountryRequest = null;
-            try
-            {
-                updateCountryRequest = Utils.convertObject(request.body().asJson(), UpdateCountryRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateCountryRequest updateCountryRequest = request.body().as(JsonBody.class).as(UpdateCountryRequest.class);
+            if(null == updateCountryRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.countryService.update(id, updateCountryRequest);
-        }).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
+        })).thenApplyAsync(country -> ok(Json.toJson(country)), this.httpExecutionContext.current());
     }
 }
\ No newline at end of file
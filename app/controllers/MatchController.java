@@ -1,16 +1,23 @@
 package controllers;
 
 import com.google.inject.Inject;
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
 import play.libs.Json;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import requests.matches.CreateRequest;
 import requests.matches.UpdateRequest;
 import services.MatchService;
+import utils.ResponseEncoder;
 import utils.Utils;
 
 import java.util.concurrent.CompletableFuture;
@@ -20,6 +27,8 @@ import java.util.HashMap;
 
 public class MatchController extends Controller
 {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final MatchService matchService;
 
     private final HttpExecutionContext httpExecutionContext;
@@ -37,48 +46,42 @@ public class MatchController extends Controller
         this.httpExecutionContext = httpExecutionContext;
     }
 
-    public CompletionStage<Result> get(Long id)
+    public CompletionStage<Result> get(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.matchService.get(id)).thenApplyAsync(match -> ok(Json.toJson(match)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.matchService.get(id)))).thenApplyAsync(match -> ResponseEncoder.ok(request, match).withHeader(ETAG, Utils.etag(match.getVersion())), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletableFuture<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateRequest createRequest;
-            try
-            {
-                createRequest = Utils.convertObject(request.body().asJson(), CreateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateRequest createRequest = request.body().as(JsonBody.class).as(CreateRequest.class);
+            if(null == createRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
-            return this.matchService.create(createRequest);
-        }, this.httpExecutionContext.current()).thenApplyAsync(match -> ok(Json.toJson(match)), this.httpExecutionContext.current());
+            return this.matchService.create(createRequest, request.header(IDEMPOTENCY_KEY_HEADER).orElse(null));
+        }), this.httpExecutionContext.current()).thenApplyAsync(match -> ok(Json.toJson(match)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateRequest updateRequest;
-            try
-            {
-                updateRequest = Utils.convertObject(request.body().asJson(), UpdateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateRequest updateRequest = request.body().as(JsonBody.class).as(UpdateRequest.class);
+            if(null == updateRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
-            return this.matchService.update(id, updateRequest);
-        }, this.httpExecutionContext.current()).thenApplyAsync(updatedMatch -> ok(Json.toJson(updatedMatch)), this.httpExecutionContext.current());
+            return this.matchService.update(id, updateRequest, Utils.ifMatchVersions(request.header(IF_MATCH)));
+        }), this.httpExecutionContext.current()).thenApplyAsync(updatedMatch -> ok(Json.toJson(updatedMatch)).withHeader(ETAG, Utils.etag(updatedMatch.getVersion())), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> delete(Long id)
+    public CompletionStage<Result> delete(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.matchService.delete(id)).thenApplyAsync(isSuccess -> {
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> this.matchService.delete(id))).thenApplyAsync(isSuccess -> {
             Map<String, Boolean> response = new HashMap<>();
             response.put("success", isSuccess);
             return ok(Json.toJson(response));
@@ -0,0 +1,25 @@
+package controllers;
+
+import com.google.inject.Inject;
+import metrics.MetricsRegistry;
+import play.mvc.Controller;
+import play.mvc.Result;
+
+public class MetricsController extends Controller
+{
+    private final MetricsRegistry metricsRegistry;
+
+    @Inject
+    public MetricsController
+    (
+        MetricsRegistry metricsRegistry
+    )
+    {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public Result get()
+    {
+        return ok(this.metricsRegistry.scrape()).as("text/plain; version=0.0.4");
+    }
+}
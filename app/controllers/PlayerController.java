@@ -1,17 +1,23 @@
 package controllers;
 
 import com.google.inject.Inject;
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import modules.AnalyticsExecutionContext;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
 import play.libs.Json;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import requests.players.CreateRequest;
 import requests.players.UpdateRequest;
 import services.PlayerService;
-import utils.Utils;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -21,66 +27,64 @@ public class PlayerController extends Controller
     private final PlayerService playerService;
 
     private final HttpExecutionContext httpExecutionContext;
+    private final AnalyticsExecutionContext analyticsExecutionContext;
 
     @Inject
     public PlayerController
     (
         PlayerService playerService,
 
-        HttpExecutionContext httpExecutionContext
+        HttpExecutionContext httpExecutionContext,
+        AnalyticsExecutionContext analyticsExecutionContext
     )
     {
         this.playerService = playerService;
 
         this.httpExecutionContext = httpExecutionContext;
+        this.analyticsExecutionContext = analyticsExecutionContext;
     }
 
-    public CompletionStage<Result> get(Long id)
+    public CompletionStage<Result> get(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.playerService.get(id)).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
+        // Profiles run the career stats aggregates, so they queue on the analytics dispatcher instead of the shared pool
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.playerService.get(id))), this.analyticsExecutionContext).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> getByKeyword(String keyword)
+    public CompletionStage<Result> getByKeyword(String keyword, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.playerService.get(keyword)).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.playerService.get(keyword)))).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateRequest createRequest;
-            try
-            {
-                createRequest = Utils.convertObject(request.body().asJson(), CreateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateRequest createRequest = request.body().as(JsonBody.class).as(CreateRequest.class);
+            if(null == createRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.playerService.create(createRequest);
-        }).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
+        })).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateRequest updateRequest;
-            try
-            {
-                updateRequest = Utils.convertObject(request.body().asJson(), UpdateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateRequest updateRequest = request.body().as(JsonBody.class).as(UpdateRequest.class);
+            if(null == updateRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.playerService.update(id, updateRequest);
-        }).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
+        })).thenApplyAsync(player -> ok(Json.toJson(player)), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> getAll(Integer offset, Integer count)
+    public CompletionStage<Result> getAll(Integer offset, Integer count, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.playerService.getAll(offset, count)).thenApplyAsync(players -> ok(Json.toJson(players)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.playerService.getAll(offset, count)))).thenApplyAsync(players -> ok(Json.toJson(players)), this.httpExecutionContext.current());
     }
 }
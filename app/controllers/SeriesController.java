@@ -1,16 +1,23 @@
 package controllers;
 
 import com.google.inject.Inject;
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
 import play.libs.Json;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import requests.series.CreateRequest;
 import requests.series.UpdateRequest;
 import services.SeriesService;
+import utils.ResponseEncoder;
 import utils.Utils;
 
 import java.util.concurrent.CompletableFuture;
@@ -35,52 +42,46 @@ public class SeriesController extends Controller
         this.httpExecutionContext = httpExecutionContext;
     }
 
-    public CompletionStage<Result> getAll()
+    public CompletionStage<Result> getAll(Http.Request request)
     {
-        return this.seriesService.getAll().thenApplyAsync(list -> ok(Json.toJson(list)), this.httpExecutionContext.current());
+        return ReadConsistency.from(request).supply(this.seriesService::getAll).thenApplyAsync(list -> ResponseEncoder.okChunked(request, list), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> get(Long id)
+    public CompletionStage<Result> get(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.seriesService.get(id)).thenApplyAsync(series -> ok(Json.toJson(series)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.seriesService.get(id)))).thenApplyAsync(series -> ResponseEncoder.ok(request, series).withHeader(ETAG, Utils.etag(series.getVersion())), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> getByKeyword(String keyword)
+    public CompletionStage<Result> getByKeyword(String keyword, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.seriesService.get(keyword)).thenApplyAsync(seriesList -> ok(Json.toJson(seriesList)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.seriesService.get(keyword)))).thenApplyAsync(seriesList -> ok(Json.toJson(seriesList)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateRequest createTeamRequest;
-            try
-            {
-                createTeamRequest = Utils.convertObject(request.body().asJson(), CreateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateRequest createTeamRequest = request.body().as(JsonBody.class).as(CreateRequest.class);
+            if(null == createTeamRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.seriesService.create(createTeamRequest);
-        }).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
+        })).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateRequest updateRequest;
-            try
-            {
-                updateRequest = Utils.convertObject(request.body().asJson(), UpdateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateRequest updateRequest = request.body().as(JsonBody.class).as(UpdateRequest.class);
+            if(null == updateRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
-            return this.seriesService.update(id, updateRequest);
-        }).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
+            return this.seriesService.update(id, updateRequest, Utils.ifMatchVersions(request.header(IF_MATCH)));
+        })).thenApplyAsync(series -> ok(Json.toJson(series)).withHeader(ETAG, Utils.etag(series.getVersion())), this.httpExecutionContext.current());
     }
 }
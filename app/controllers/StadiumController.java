@@ -1,17 +1,23 @@
 package controllers;
 
 import com.google.inject.Inject;
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
 import play.libs.Json;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import requests.stadiums.CreateRequest;
 import requests.stadiums.UpdateRequest;
 import services.StadiumService;
-import utils.Utils;
+import utils.ResponseEncoder;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -34,52 +40,46 @@ public class StadiumController extends Controller
         this.httpExecutionContext = httpExecutionContext;
     }
 
-    public CompletionStage<Result> getAll()
+    public CompletionStage<Result> getAll(Http.Request request)
     {
-        return this.stadiumService.getAll().thenApplyAsync(list -> ok(Json.toJson(list)), this.httpExecutionContext.current());
+        return ReadConsistency.from(request).supply(this.stadiumService::getAll).thenApplyAsync(list -> ResponseEncoder.okChunked(request, list), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateRequest createStadiumRequest;
-            try
-            {
-                createStadiumRequest = Utils.convertObject(request.body().asJson(), CreateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateRequest createStadiumRequest = request.body().as(JsonBody.class).as(CreateRequest.class);
+            if(null == createStadiumRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.stadiumService.create(createStadiumRequest);
-        }).thenApplyAsync(stadium -> ok(Json.toJson(stadium)), this.httpExecutionContext.current());
+        })).thenApplyAsync(stadium -> ok(Json.toJson(stadium)), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> get(Long id)
+    public CompletionStage<Result> get(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.stadiumService.get(id)).thenApplyAsync(stadium -> ok(Json.toJson(stadium)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.stadiumService.get(id)))).thenApplyAsync(stadium -> ok(Json.toJson(stadium)), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> getByKeyword(String keyword)
+    public CompletionStage<Result> getByKeyword(String keyword, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.stadiumService.get(keyword)).thenApplyAsync(stadiumList -> ok(Json.toJson(stadiumList)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.stadiumService.get(keyword)))).thenApplyAsync(stadiumList -> ok(Json.toJson(stadiumList)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateRequest updateRequest;
-            try
-            {
-                updateRequest = Utils.convertObject(request.body().asJson(), UpdateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateRequest updateRequest = request.body().as(JsonBody.class).as(UpdateRequest.class);
+            if(null == updateRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.stadiumService.update(id, updateRequest);
-        }).thenApplyAsync(stadium -> ok(Json.toJson(stadium)), this.httpExecutionContext.current());
+        })).thenApplyAsync(stadium -> ok(Json.toJson(stadium)), this.httpExecutionContext.current());
     }
 }
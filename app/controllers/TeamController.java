@@ -1,18 +1,24 @@
 package controllers;
 
 import com.google.inject.Inject;
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
 import play.libs.Json;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import requests.teams.CreateRequest;
 import requests.teams.UpdateRequest;
 import responses.TeamResponse;
 import services.TeamService;
-import utils.Utils;
+import utils.ResponseEncoder;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -36,52 +42,46 @@ public class TeamController extends Controller
         this.httpExecutionContext = httpExecutionContext;
     }
 
-    public CompletionStage<Result> getAll()
+    public CompletionStage<Result> getAll(Http.Request request)
     {
-        return this.teamService.getAll().thenApplyAsync(list -> ok(Json.toJson(list)), this.httpExecutionContext.current());
+        return ReadConsistency.from(request).supply(this.teamService::getAll).thenApplyAsync(list -> ResponseEncoder.okChunked(request, list), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> get(Long id)
+    public CompletionStage<Result> get(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.teamService.get(id)).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.teamService.get(id)))).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> getByKeyword(String keyword)
+    public CompletionStage<Result> getByKeyword(String keyword, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.teamService.get(keyword)).thenApplyAsync(list -> ok(Json.toJson(list)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.teamService.get(keyword)))).thenApplyAsync(list -> ok(Json.toJson(list)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateRequest createTeamRequest;
-            try
-            {
-                createTeamRequest = Utils.convertObject(request.body().asJson(), CreateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateRequest createTeamRequest = request.body().as(JsonBody.class).as(CreateRequest.class);
+            if(null == createTeamRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.teamService.create(createTeamRequest);
-        }).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
+        })).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateRequest updateRequest = null;
-            try
-            {
-                updateRequest = Utils.convertObject(request.body().asJson(), UpdateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateRequest updateRequest = request.body().as(JsonBody.class).as(UpdateRequest.class);
+            if(null == updateRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.teamService.update(id, updateRequest);
-        }).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
+        })).thenApplyAsync(team -> ok(Json.toJson(team)), this.httpExecutionContext.current());
     }
 }
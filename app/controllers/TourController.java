@@ -1,11 +1,17 @@
 package controllers;
 
 import com.google.inject.Inject;
+import database.QueryCounter;
+import database.ReadConsistency;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import filters.MetricsFilter;
+import parsers.JsonBody;
+import parsers.JsonBodyParser;
 import play.libs.Json;
 import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
+import play.mvc.BodyParser;
 import play.mvc.Http;
 import play.mvc.Result;
 import requests.tours.CreateRequest;
@@ -13,7 +19,6 @@ import requests.tours.FilterRequest;
 import requests.tours.UpdateRequest;
 import responses.TourResponse;
 import services.TourService;
-import utils.Utils;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -38,63 +43,59 @@ public class TourController extends Controller
         this.httpExecutionContext = httpExecutionContext;
     }
 
-    public CompletionStage<Result> get(Long id)
+    public CompletionStage<Result> get(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> this.tourService.get(id), this.httpExecutionContext.current()).thenApplyAsync(tour -> ok(Json.toJson(tour)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(() -> this.tourService.get(id))), this.httpExecutionContext.current()).thenApplyAsync(tour -> ok(Json.toJson(tour)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> create(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            CreateRequest createRequest;
-            try
-            {
-                createRequest = Utils.convertObject(request.body().asJson(), CreateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            CreateRequest createRequest = request.body().as(JsonBody.class).as(CreateRequest.class);
+            if(null == createRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.tourService.create(createRequest);
-        }, this.httpExecutionContext.current()).thenApplyAsync(tour -> ok(Json.toJson(tour)), this.httpExecutionContext.current());
+        }), this.httpExecutionContext.current()).thenApplyAsync(tour -> ok(Json.toJson(tour)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> update(Long id, Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            UpdateRequest updateRequest;
-            try
-            {
-                updateRequest = Utils.convertObject(request.body().asJson(), UpdateRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            UpdateRequest updateRequest = request.body().as(JsonBody.class).as(UpdateRequest.class);
+            if(null == updateRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
 
             return this.tourService.update(id, updateRequest);
-        }, this.httpExecutionContext.current()).thenApplyAsync(updatedTour -> ok(Json.toJson(updatedTour)), this.httpExecutionContext.current());
+        }), this.httpExecutionContext.current()).thenApplyAsync(updatedTour -> ok(Json.toJson(updatedTour)), this.httpExecutionContext.current());
     }
 
+    @BodyParser.Of(JsonBodyParser.class)
     public CompletionStage<Result> filter(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            FilterRequest filterRequest;
-            try
-            {
-                filterRequest = Utils.convertObject(request.body().asJson(), FilterRequest.class);
-            }
-            catch(Exception ex)
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), () -> {
+            FilterRequest filterRequest = request.body().as(JsonBody.class).as(FilterRequest.class);
+            if(null == filterRequest)
             {
                 throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
             }
             return this.tourService.filter(filterRequest);
-        }, this.httpExecutionContext.current()).thenApplyAsync(tours -> ok(Json.toJson(tours)), this.httpExecutionContext.current());
+        }), this.httpExecutionContext.current()).thenApplyAsync(tours -> ok(Json.toJson(tours)), this.httpExecutionContext.current());
+    }
+
+    public CompletionStage<Result> getYears(Http.Request request)
+    {
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(this.tourService::getYears)), this.httpExecutionContext.current()).thenApplyAsync(years -> ok(Json.toJson(years)), this.httpExecutionContext.current());
     }
 
-    public CompletionStage<Result> getYears()
+    public CompletionStage<Result> getYearCounts(Http.Request request)
     {
-        return CompletableFuture.supplyAsync(this.tourService::getYears, this.httpExecutionContext.current()).thenApplyAsync(years -> ok(Json.toJson(years)), this.httpExecutionContext.current());
+        return CompletableFuture.supplyAsync(QueryCounter.bind(MetricsFilter.route(request), ReadConsistency.from(request).bind(this.tourService::getYearCounts)), this.httpExecutionContext.current()).thenApplyAsync(yearCounts -> ok(Json.toJson(yearCounts)), this.httpExecutionContext.current());
     }
 }
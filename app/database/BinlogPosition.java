@@ -0,0 +1,51 @@
+package database;
+
+import lombok.Getter;
+
+import java.util.Optional;
+
+// A coordinate in the primary's binary log, written as <file>:<position>. Log files share a basename and a zero-padded
+// sequence number, so coordinates order by file name and then by position
+@Getter
+public class BinlogPosition implements Comparable<BinlogPosition>
+{
+    private final String file;
+    private final long position;
+
+    public BinlogPosition(String file, long position)
+    {
+        this.file = file;
+        this.position = position;
+    }
+
+    public static Optional<BinlogPosition> parse(String value)
+    {
+        int separator = value.lastIndexOf(':');
+        if(separator <= 0)
+        {
+            return Optional.empty();
+        }
+
+        try
+        {
+            return Optional.of(new BinlogPosition(value.substring(0, separator), Long.parseLong(value.substring(separator + 1))));
+        }
+        catch(NumberFormatException ex)
+        {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public int compareTo(BinlogPosition other)
+    {
+        int files = this.file.compareTo(other.file);
+        return (0 != files) ? files : Long.compare(this.position, other.position);
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.file + ":" + this.position;
+    }
+}
@@ -0,0 +1,20 @@
+package database;
+
+import models.OutboxEvent;
+
+import java.util.List;
+
+// Registered through a Guice Multibinder; OutboxDispatcher delivers events in id order, except ids that commit after
+// later ones were delivered, and redelivers a batch whose accept throws, so implementations must be idempotent
+public interface ChangeConsumer
+{
+    String getName();
+
+    // Durable consumers resume from their outbox_checkpoints row after a restart; others start at the current head
+    default boolean isDurable()
+    {
+        return true;
+    }
+
+    void accept(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,228 @@
+package database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import enums.WorkloadClass;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.SqlRow;
+import metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.db.ebean.EbeanConfig;
+import play.db.ebean.EbeanDynamicEvolutions;
+import play.inject.ApplicationLifecycle;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Query calls on server() go to the replica when the current ReadConsistency and the measured lag allow it, and under the
+// same conditions to the analytics pool when made from a @Workload(ANALYTICS) repository method; writes, transactions,
+// anything inside a primary transaction and reads the replica cannot serve stay on the primary
+@Singleton
+public class DatabaseRouter
+{
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseRouter.class);
+
+    private static final Set<String> READ_METHODS = new HashSet<>(Arrays.asList("find", "findDto", "findNative", "createQuery", "createSqlQuery", "createNamedQuery"));
+
+    private final EbeanServer primary;
+    private final EbeanServer replica;
+    private final EbeanServer analytics;
+    private final EbeanServer server;
+    private final long defaultMaxStalenessMillis;
+    private final int analyticsStatementTimeoutSeconds;
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder analyticsReads = new LongAdder();
+    private volatile ReplicaStatus replicaStatus = ReplicaStatus.UNKNOWN;
+
+    @Inject
+    public DatabaseRouter
+    (
+        EbeanConfig ebeanConfig,
+        EbeanDynamicEvolutions ebeanDynamicEvolutions,
+        Config config,
+        MetricsRegistry metricsRegistry,
+        ApplicationLifecycle applicationLifecycle
+    )
+    {
+        this.primary = Ebean.getServer(ebeanConfig.defaultServer());
+        this.server = (EbeanServer) Proxy.newProxyInstance(EbeanServer.class.getClassLoader(), new Class<?>[]{EbeanServer.class}, (proxy, method, args) -> this.invoke(method, args));
+
+        Config analytics = config.getConfig("workload.analytics");
+        this.analytics = analytics.getBoolean("enabled") ? Ebean.getServer(analytics.getString("server")) : null;
+        this.analyticsStatementTimeoutSeconds = (int) analytics.getDuration("statementTimeout", TimeUnit.SECONDS);
+        metricsRegistry.gauge("database_reads_total", "target", "analytics", this.analyticsReads::sum);
+
+        Config replica = config.getConfig("replica");
+        this.defaultMaxStalenessMillis = replica.getDuration("defaultMaxStaleness", TimeUnit.MILLISECONDS);
+        if(!replica.getBoolean("enabled"))
+        {
+            this.replica = null;
+            return;
+        }
+
+        this.replica = Ebean.getServer(replica.getString("server"));
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = replica.getDuration("lagProbeInterval", TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::probe, 0, interval, TimeUnit.MILLISECONDS);
+        applicationLifecycle.addStopHook(() -> {
+            scheduler.shutdownNow();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        metricsRegistry.gauge("replica_lag_seconds", "pool", replica.getString("server"), () -> (Long.MAX_VALUE == this.replicaStatus.getLagMillis()) ? Double.NaN : (this.replicaStatus.getLagMillis() / 1000.0));
+        metricsRegistry.gauge("database_reads_total", "target", "primary", this.primaryReads::sum);
+        metricsRegistry.gauge("database_reads_total", "target", "replica", this.replicaReads::sum);
+    }
+
+    public EbeanServer server()
+    {
+        return this.server;
+    }
+
+    public EbeanServer primary()
+    {
+        return this.primary;
+    }
+
+    public boolean isReplicaEnabled()
+    {
+        return (null != this.replica);
+    }
+
+    public int getStatementTimeoutSeconds()
+    {
+        return (WorkloadClass.ANALYTICS == WorkloadInterceptor.current()) ? this.analyticsStatementTimeoutSeconds : 0;
+    }
+
+    public EbeanServer forRead()
+    {
+        boolean analytics = (null != this.analytics) && (WorkloadClass.ANALYTICS == WorkloadInterceptor.current());
+        if(!analytics && (null == this.replica))
+        {
+            return this.primary;
+        }
+
+        if((null != this.primary.currentTransaction()) || !this.isReplicaEligible(ReadConsistency.current()))
+        {
+            this.primaryReads.increment();
+            return this.primary;
+        }
+
+        if(analytics)
+        {
+            this.analyticsReads.increment();
+            return this.analytics;
+        }
+
+        this.replicaReads.increment();
+        return this.replica;
+    }
+
+    // db.analytics follows db.replica, so analytics reads need the same consistency and lag allowance as replica reads;
+    // with replica routing disabled there is no lag to wait for and only X-Consistency: strong keeps them on the primary
+    private boolean isReplicaEligible(ReadConsistency consistency)
+    {
+        if(consistency.isPrimary())
+        {
+            return false;
+        }
+        return ((null == this.replica) || this.replicaStatus.canServe(consistency, this.defaultMaxStalenessMillis));
+    }
+
+    // Where the primary's binary log ends, handed back to writers as X-Read-After; null when replica routing is off or
+    // the primary does not log
+    public BinlogPosition getPrimaryPosition()
+    {
+        if(null == this.replica)
+        {
+            return null;
+        }
+
+        try
+        {
+            SqlRow row = this.primary.createSqlQuery("SHOW MASTER STATUS").findOne();
+            Object file = column(row, "file");
+            Object position = column(row, "position");
+            return ((null == file) || (null == position)) ? null : new BinlogPosition(String.valueOf(file), Long.parseLong(String.valueOf(position)));
+        }
+        catch(Exception ex)
+        {
+            logger.warn("Reading the primary binlog position failed: " + ex);
+            return null;
+        }
+    }
+
+    private Object invoke(Method method, Object[] args) throws Throwable
+    {
+        EbeanServer target = READ_METHODS.contains(method.getName()) ? this.forRead() : this.primary;
+        try
+        {
+            return method.invoke(target, args);
+        }
+        catch(InvocationTargetException ex)
+        {
+            throw ex.getCause();
+        }
+    }
+
+    // Seconds_Behind_Master is NULL when replication is stopped; Relay_Master_Log_File and Exec_Master_Log_Pos are the
+    // primary binlog coordinates the replica has executed up to
+    private void probe()
+    {
+        try
+        {
+            SqlRow row = this.replica.createSqlQuery("SHOW SLAVE STATUS").findOne();
+            if(null == row)
+            {
+                this.replicaStatus = ReplicaStatus.NOT_REPLICATING;
+                return;
+            }
+
+            Object secondsBehind = column(row, "seconds_behind_master");
+            Object file = column(row, "relay_master_log_file");
+            Object position = column(row, "exec_master_log_pos");
+            long lagMillis = (null == secondsBehind) ? Long.MAX_VALUE : (Long.parseLong(String.valueOf(secondsBehind)) * 1000L);
+            BinlogPosition appliedPosition = ((null == file) || (null == position)) ? null : new BinlogPosition(String.valueOf(file), Long.parseLong(String.valueOf(position)));
+            this.replicaStatus = new ReplicaStatus(true, lagMillis, appliedPosition);
+        }
+        catch(Exception ex)
+        {
+            this.replicaStatus = ReplicaStatus.UNKNOWN;
+            logger.warn("Replica lag probe failed, routing reads to the primary: " + ex);
+        }
+    }
+
+    private static Object column(SqlRow row, String name)
+    {
+        if(null != row)
+        {
+            for(Map.Entry<String, Object> entry: row.entrySet())
+            {
+                if(name.equalsIgnoreCase(entry.getKey()))
+                {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
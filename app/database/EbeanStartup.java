@@ -0,0 +1,19 @@
+package database;
+
+import io.ebean.config.ServerConfig;
+import io.ebean.event.ServerConfigStartup;
+
+public class EbeanStartup implements ServerConfigStartup
+{
+    @Override
+    public void onStart(ServerConfig serverConfig)
+    {
+        serverConfig.setDataSource(InstrumentedDataSource.wrap(serverConfig.getDataSource()));
+
+        // Writes only invalidate the primary's L2 cache, so a replica server must not keep one
+        if(!serverConfig.isDefaultServer())
+        {
+            serverConfig.setDisableL2Cache(true);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package database;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+public class InstrumentedDataSource
+{
+    public static DataSource wrap(DataSource dataSource)
+    {
+        if((null == dataSource) || Proxy.isProxyClass(dataSource.getClass()))
+        {
+            return dataSource;
+        }
+
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if(result instanceof Connection)
+            {
+                return proxy(Connection.class, (Connection) result, new ConnectionHandler());
+            }
+            return result;
+        });
+    }
+
+    private static class ConnectionHandler implements Handler<Connection>
+    {
+        @Override
+        public Object handle(Connection connection, Method method, Object[] args) throws Throwable
+        {
+            String name = method.getName();
+            if(name.equals("prepareStatement") || name.equals("prepareCall"))
+            {
+                String sql = (String) args[0];
+                args[0] = QueryCounter.tag(sql);
+                Object statement = invoke(connection, method, args);
+                Class<? extends Statement> type = name.equals("prepareCall") ? CallableStatement.class : PreparedStatement.class;
+                return proxy(type, type.cast(statement), new StatementHandler(sql));
+            }
+            if(name.equals("createStatement"))
+            {
+                return proxy(Statement.class, (Statement) invoke(connection, method, args), new StatementHandler(null));
+            }
+            return invoke(connection, method, args);
+        }
+    }
+
+    private static class StatementHandler implements Handler<Statement>
+    {
+        private final String sql;
+        private Object[] binds;
+
+        private StatementHandler(String sql)
+        {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object handle(Statement statement, Method method, Object[] args) throws Throwable
+        {
+            String name = method.getName();
+            if(name.startsWith("set") && (null != args) && (args.length >= 2) && (args[0] instanceof Integer) && SqlTracer.isEnabled())
+            {
+                // setNull's second argument is the SQL type code, not the value
+                this.bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                return invoke(statement, method, args);
+            }
+            if(name.equals("clearParameters") || name.equals("addBatch") || name.equals("clearBatch"))
+            {
+                this.binds = null;
+                return invoke(statement, method, args);
+            }
+            if(!name.startsWith("execute"))
+            {
+                return invoke(statement, method, args);
+            }
+
+            boolean hasSql = (null != args) && (args.length > 0) && (args[0] instanceof String);
+            String sql = hasSql ? (String) args[0] : this.sql;
+            if(hasSql)
+            {
+                args[0] = QueryCounter.tag(sql);
+            }
+            QueryCounter.record(sql);
+
+            if(!SqlTracer.isEnabled())
+            {
+                Object result = invoke(statement, method, args);
+                QueryCounter.recordRows(affectedRows(statement, result));
+                return result;
+            }
+
+            long start = System.nanoTime();
+            try
+            {
+                Object result = invoke(statement, method, args);
+                SqlTracer.trace(sql, this.binds, System.nanoTime() - start, null);
+                QueryCounter.recordRows(affectedRows(statement, result));
+                return result;
+            }
+            catch(Throwable ex)
+            {
+                SqlTracer.trace(sql, this.binds, System.nanoTime() - start, ex);
+                throw ex;
+            }
+            finally
+            {
+                // A batch's rows were bound before each addBatch, so nothing captured here belongs to the next statement
+                if(name.endsWith("Batch"))
+                {
+                    this.binds = null;
+                }
+            }
+        }
+
+        // Update counts from executeUpdate and executeBatch, or from getUpdateCount() after execute(); negative counts
+        // (SUCCESS_NO_INFO, or a result set) add nothing
+        private static long affectedRows(Statement statement, Object result) throws SQLException
+        {
+            if(result instanceof Boolean)
+            {
+                return ((Boolean) result) ? 0L : Math.max(0, statement.getUpdateCount());
+            }
+            if(result instanceof Number)
+            {
+                return Math.max(0L, ((Number) result).longValue());
+            }
+
+            long rows = 0L;
+            if(result instanceof int[])
+            {
+                for(int count: (int[]) result)
+                {
+                    rows += Math.max(0, count);
+                }
+            }
+            else if(result instanceof long[])
+            {
+                for(long count: (long[]) result)
+                {
+                    rows += Math.max(0L, count);
+                }
+            }
+            return rows;
+        }
+
+        private void bind(int index, Object value)
+        {
+            if(index < 1)
+            {
+                return;
+            }
+            if(null == this.binds)
+            {
+                this.binds = new Object[Math.max(index, 8)];
+            }
+            else if(index > this.binds.length)
+            {
+                this.binds = Arrays.copyOf(this.binds, Math.max(index, this.binds.length * 2));
+            }
+            this.binds[index - 1] = value;
+        }
+    }
+
+    private interface Handler<T>
+    {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler)
+    {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if(method.getName().equals("unwrap") && (null != args) && ((Class<?>) args[0]).isInstance(target))
+            {
+                return target;
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(target, args);
+        }
+        catch(InvocationTargetException ex)
+        {
+            throw ex.getCause();
+        }
+    }
+}
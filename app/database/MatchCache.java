@@ -0,0 +1,163 @@
+package database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
+import metrics.MetricsRegistry;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Scorecard rows cached per match, so a write to one match only drops that match instead of the whole table's query cache
+@Singleton
+public class MatchCache
+{
+    public enum Entity
+    {
+        BATTING_SCORES,
+        BOWLER_DISMISSALS,
+        FIELDER_DISMISSALS,
+        BOWLING_FIGURES,
+        EXTRAS,
+        PLAYERS,
+        MAN_OF_THE_MATCH,
+        CAPTAINS,
+        WICKET_KEEPERS
+    }
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxMatches;
+    private final LinkedHashMap<Long, Slot> slots;
+    private final Map<Entity, LongAdder> hits = new EnumMap<>(Entity.class);
+    private final Map<Entity, LongAdder> misses = new EnumMap<>(Entity.class);
+    private final LongAdder invalidations = new LongAdder();
+
+    @Inject
+    public MatchCache(Config config, MetricsRegistry metricsRegistry)
+    {
+        Config matchCache = config.getConfig("matchCache");
+        this.enabled = matchCache.getBoolean("enabled");
+        this.ttlNanos = matchCache.getDuration("ttl", TimeUnit.NANOSECONDS);
+        this.maxMatches = matchCache.getInt("maxMatches");
+
+        // Access-ordered and guarded by its own monitor, so the least recently read match is the one evicted
+        this.slots = new LinkedHashMap<Long, Slot>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest)
+            {
+                return (this.size() > maxMatches);
+            }
+        };
+
+        for(Entity entity: Entity.values())
+        {
+            String label = entity.name().toLowerCase();
+            LongAdder hits = new LongAdder();
+            LongAdder misses = new LongAdder();
+            this.hits.put(entity, hits);
+            this.misses.put(entity, misses);
+            metricsRegistry.gauge("match_cache_hits_total", "entity", label, hits::sum);
+            metricsRegistry.gauge("match_cache_misses_total", "entity", label, misses::sum);
+            metricsRegistry.gauge("match_cache_hit_ratio", "entity", label, () -> ratio(hits.sum(), misses.sum()));
+        }
+        metricsRegistry.gauge("match_cache_matches", "cache", "match", this::size);
+        metricsRegistry.gauge("match_cache_invalidations_total", "cache", "match", this.invalidations::sum);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Entity entity, Long matchId, Supplier<T> loader)
+    {
+        if(!this.enabled)
+        {
+            return loader.get();
+        }
+
+        // Taking the slot before loading means an invalidation during the load detaches it, so stale rows are never published
+        long now = System.nanoTime();
+        Slot slot;
+        synchronized(this.slots)
+        {
+            slot = this.slots.get(matchId);
+            if((null == slot) || ((now - slot.createdAt) > this.ttlNanos))
+            {
+                slot = new Slot(now);
+                this.slots.put(matchId, slot);
+            }
+        }
+
+        Object value = slot.values.get(entity.ordinal());
+        if(null != value)
+        {
+            this.hits.get(entity).increment();
+            return (T) value;
+        }
+
+        this.misses.get(entity).increment();
+        // Fills read the primary: a lagging replica could otherwise re-cache rows that a commit just invalidated
+        T loaded = ReadConsistency.PRIMARY.supply(loader);
+        if(null != loaded)
+        {
+            slot.values.set(entity.ordinal(), loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long matchId)
+    {
+        Slot removed;
+        synchronized(this.slots)
+        {
+            removed = this.slots.remove(matchId);
+        }
+        if(null != removed)
+        {
+            this.invalidations.increment();
+        }
+    }
+
+    public void invalidateAfterCommit(Transaction transaction, Long matchId)
+    {
+        transaction.register(new TransactionCallbackAdapter()
+        {
+            @Override
+            public void postCommit()
+            {
+                invalidate(matchId);
+            }
+        });
+    }
+
+    private int size()
+    {
+        synchronized(this.slots)
+        {
+            return this.slots.size();
+        }
+    }
+
+    private static double ratio(long hits, long misses)
+    {
+        long total = hits + misses;
+        return (0 == total) ? 0.0 : ((double) hits / total);
+    }
+
+    private static class Slot
+    {
+        private final long createdAt;
+        private final AtomicReferenceArray<Object> values = new AtomicReferenceArray<>(Entity.values().length);
+
+        private Slot(long createdAt)
+        {
+            this.createdAt = createdAt;
+        }
+    }
+}
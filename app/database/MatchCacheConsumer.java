@@ -0,0 +1,43 @@
+package database;
+
+import com.google.inject.Inject;
+import enums.AggregateType;
+import models.OutboxEvent;
+
+import java.util.List;
+
+// Local writes already invalidate after commit; this catches matches changed through other application instances
+public class MatchCacheConsumer implements ChangeConsumer
+{
+    private final MatchCache matchCache;
+
+    @Inject
+    public MatchCacheConsumer(MatchCache matchCache)
+    {
+        this.matchCache = matchCache;
+    }
+
+    @Override
+    public String getName()
+    {
+        return "match-cache";
+    }
+
+    @Override
+    public boolean isDurable()
+    {
+        return false;
+    }
+
+    @Override
+    public void accept(List<OutboxEvent> events)
+    {
+        for(OutboxEvent event: events)
+        {
+            if(AggregateType.MATCH == event.getAggregateType())
+            {
+                this.matchCache.invalidate(event.getAggregateId());
+            }
+        }
+    }
+}
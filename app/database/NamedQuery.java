@@ -0,0 +1,23 @@
+package database;
+
+import lombok.Getter;
+
+@Getter
+public enum NamedQuery
+{
+    PLAYER_DISMISSAL_STATS("SELECT dm.name AS dismissalMode, COUNT(*) AS count, bs.game_type as gameType FROM `batting_scores` bs INNER JOIN dismissal_modes dm ON dm.id = bs.mode_of_dismissal and dm.name != 'Retired Hurt' WHERE bs.player_id = ? AND bs.is_official = 1 AND bs.team_type_id = 0 AND bs.mode_of_dismissal IS NOT NULL GROUP BY bs.game_type, bs.mode_of_dismissal"),
+    PLAYER_BATTING_STATS("SELECT COUNT(*) AS innings, SUM(runs) AS runs, SUM(balls) AS balls, SUM(fours) AS fours, SUM(sixes) AS sixes, MAX(runs) AS highest, bs.game_type as gameType, count(CASE WHEN (bs.runs >= 50 and bs.runs < 100) then 1 end) as fifties, count(CASE WHEN (bs.runs >= 100 and bs.runs < 200) then 1 end) as hundreds, count(CASE WHEN (bs.runs >= 200 and bs.runs < 300) then 1 end) as twoHundreds, count(CASE WHEN (bs.runs >= 300 and bs.runs < 400) then 1 end) as threeHundreds, count(CASE WHEN (bs.runs >= 400 and bs.runs < 500) then 1 end) as fourHundreds FROM `batting_scores` bs WHERE bs.player_id = ? AND bs.is_official = 1 AND bs.team_type_id = 0 group by bs.game_type"),
+    PLAYER_FIELDING_STATS("select dm.name as dismissalMode, count(*) as count, fd.game_type as gameType from fielder_dismissals fd inner join batting_scores bs on bs.id = fd.score_id inner join dismissal_modes dm on dm.id = bs.mode_of_dismissal where fd.player_id = ? and fd.is_official = 1 and fd.team_type_id = 0 group by fd.game_type, bs.mode_of_dismissal"),
+    PLAYER_BOWLING_STATS("SELECT COUNT(*) AS innings, SUM(balls) AS balls, SUM(maidens) AS maidens, SUM(runs) AS runs, SUM(wickets) AS wickets, bf.game_type AS gameType, COUNT(CASE WHEN (bf.wickets >= 5 and bf.wickets < 10) then 1 end) as fifers,  COUNT(CASE WHEN (bf.wickets = 10) then 1 end) as tenWickets FROM bowling_figures bf WHERE bf.player_id = ? AND bf.is_official = 1 AND bf.team_type_id = 0 GROUP BY bf.game_type"),
+    TEAM_FOR_PLAYER_IN_SERIES("SELECT mpm.team_id as teamId FROM `match_player_map` mpm inner join matches m on m.id = mpm.match_id and m.series = ? and mpm.player_id = ? limit 1"),
+    TOUR_YEAR_COUNTS("SELECT `year`, COUNT(*) AS count FROM `tours` GROUP BY `year` ORDER BY `year` DESC"),
+    OUTBOX_HEAD("SELECT COALESCE(MAX(`id`), 0) AS id FROM `outbox_events`"),
+    OPEN_TRANSACTIONS("SELECT `trx_id` AS id FROM `information_schema`.`innodb_trx`");
+
+    private final String sql;
+
+    NamedQuery(String sql)
+    {
+        this.sql = sql;
+    }
+}
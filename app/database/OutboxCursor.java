@@ -0,0 +1,155 @@
+package database;
+
+import models.OutboxEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// A consumer's position in outbox_events. Ids are assigned at insert but become visible at commit, so an id missing
+// from a read may belong to a transaction still in flight: delivery waits up to gapTimeout for it in id order, then
+// moves on and keeps the id pending. A pending id is delivered late if it shows up, and is treated as rolled back once
+// none of the transactions open when it was skipped are still running, or after another gapTimeout when the open
+// transactions could not be listed
+class OutboxCursor
+{
+    private final int maxPendingGaps;
+    private final long gapTimeoutMillis;
+    private final TreeMap<Long, PendingGap> pendingGaps = new TreeMap<>();
+    private volatile long position = -1L;
+    private long gapAt = -1L;
+    private long gapSince = 0L;
+
+    OutboxCursor(int maxPendingGaps, long gapTimeoutMillis)
+    {
+        this.maxPendingGaps = maxPendingGaps;
+        this.gapTimeoutMillis = gapTimeoutMillis;
+    }
+
+    boolean isStarted()
+    {
+        return (this.position >= 0);
+    }
+
+    long getPosition()
+    {
+        return this.position;
+    }
+
+    void start(long position)
+    {
+        this.position = position;
+    }
+
+    // What a checkpoint may record: everything at or below it has been delivered or given up on, so pending ids are
+    // read again after a restart
+    long getCommittedPosition()
+    {
+        return this.pendingGaps.isEmpty() ? this.position : Math.min(this.position, this.pendingGaps.firstKey() - 1);
+    }
+
+    Set<Long> getPendingGaps()
+    {
+        return Collections.unmodifiableSet(this.pendingGaps.keySet());
+    }
+
+    List<OutboxEvent> contiguous(List<OutboxEvent> events, long now)
+    {
+        List<OutboxEvent> batch = new ArrayList<>();
+        long expected = this.position + 1;
+        for(OutboxEvent event: events)
+        {
+            if(event.getId() != expected)
+            {
+                if(this.gapAt != expected)
+                {
+                    this.gapAt = expected;
+                    this.gapSince = now;
+                }
+                if((now - this.gapSince) < this.gapTimeoutMillis)
+                {
+                    break;
+                }
+            }
+            batch.add(event);
+            expected = event.getId() + 1;
+        }
+        return batch;
+    }
+
+    boolean skipsIds(List<OutboxEvent> batch)
+    {
+        return (!batch.isEmpty() && ((batch.get(batch.size() - 1).getId() - this.position) != batch.size()));
+    }
+
+    // Moves past a delivered batch; openTransactions is listed after the batch was read, or null when unavailable.
+    // Returns the pending ids evicted to stay within maxPendingGaps
+    List<Long> advance(List<OutboxEvent> batch, Set<Long> openTransactions, long now)
+    {
+        long expected = this.position + 1;
+        for(OutboxEvent event: batch)
+        {
+            for(long id = expected; id < event.getId(); id++)
+            {
+                this.pendingGaps.put(id, new PendingGap(openTransactions, now));
+            }
+            expected = event.getId() + 1;
+        }
+        this.position = expected - 1;
+
+        List<Long> evicted = new ArrayList<>();
+        while(this.pendingGaps.size() > this.maxPendingGaps)
+        {
+            evicted.add(this.pendingGaps.pollFirstEntry().getKey());
+        }
+        return evicted;
+    }
+
+    // late holds the pending ids that have since committed, read after openTransactions was listed, so a pending id
+    // whose transactions have all ended and that is still missing can no longer appear. Returns the ids given up on
+    List<Long> settle(List<OutboxEvent> late, Set<Long> openTransactions, long now)
+    {
+        for(OutboxEvent event: late)
+        {
+            this.pendingGaps.remove(event.getId());
+        }
+
+        List<Long> rolledBack = new ArrayList<>();
+        Iterator<Map.Entry<Long, PendingGap>> iterator = this.pendingGaps.entrySet().iterator();
+        while(iterator.hasNext())
+        {
+            Map.Entry<Long, PendingGap> entry = iterator.next();
+            if(entry.getValue().isSettled(openTransactions, now, this.gapTimeoutMillis))
+            {
+                iterator.remove();
+                rolledBack.add(entry.getKey());
+            }
+        }
+        return rolledBack;
+    }
+
+    private static class PendingGap
+    {
+        private final Set<Long> transactions;
+        private final long since;
+
+        private PendingGap(Set<Long> transactions, long since)
+        {
+            this.transactions = transactions;
+            this.since = since;
+        }
+
+        private boolean isSettled(Set<Long> openTransactions, long now, long gapTimeoutMillis)
+        {
+            if((null == this.transactions) || (null == openTransactions))
+            {
+                return ((now - this.since) >= gapTimeoutMillis);
+            }
+            return Collections.disjoint(this.transactions, openTransactions);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import metrics.MetricsRegistry;
+import models.OutboxCheckpoint;
+import models.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.inject.ApplicationLifecycle;
+import repositories.OutboxRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Tails outbox_events on one thread and hands each ChangeConsumer the events after its position, in id order, plus any
+// skipped id that commits late
+@Singleton
+public class OutboxDispatcher
+{
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final OutboxRepository outboxRepository;
+    private final List<ConsumerState> consumers = new ArrayList<>();
+    private final int batchSize;
+    private final int maxPendingGaps;
+    private final long gapTimeoutMillis;
+    private final long retentionMillis;
+    private volatile long headEventId = 0L;
+    private long purgedAt = 0L;
+    private boolean openTransactionsUnavailable = false;
+
+    @Inject
+    public OutboxDispatcher
+    (
+        OutboxRepository outboxRepository,
+        Set<ChangeConsumer> changeConsumers,
+        Config config,
+        MetricsRegistry metricsRegistry,
+        ApplicationLifecycle applicationLifecycle
+    )
+    {
+        this.outboxRepository = outboxRepository;
+
+        Config outbox = config.getConfig("outbox");
+        this.batchSize = outbox.getInt("batchSize");
+        this.maxPendingGaps = outbox.getInt("maxPendingGaps");
+        this.gapTimeoutMillis = outbox.getDuration("gapTimeout", TimeUnit.MILLISECONDS);
+        this.retentionMillis = outbox.getDuration("retention", TimeUnit.MILLISECONDS);
+
+        for(ChangeConsumer changeConsumer: changeConsumers)
+        {
+            ConsumerState state = new ConsumerState(changeConsumer, new OutboxCursor(this.maxPendingGaps, this.gapTimeoutMillis));
+            this.consumers.add(state);
+            metricsRegistry.gauge("outbox_consumer_lag_events", "consumer", changeConsumer.getName(), () -> state.cursor.isStarted() ? Math.max(0L, this.headEventId - state.cursor.getPosition()) : Double.NaN);
+            metricsRegistry.gauge("outbox_events_delivered_total", "consumer", changeConsumer.getName(), state.delivered::sum);
+        }
+
+        if(!outbox.getBoolean("enabled") || this.consumers.isEmpty())
+        {
+            return;
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = outbox.getDuration("pollInterval", TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        applicationLifecycle.addStopHook(() -> {
+            scheduler.shutdownNow();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private void poll()
+    {
+        try
+        {
+            this.headEventId = this.outboxRepository.getLastEventId();
+            for(ConsumerState state: this.consumers)
+            {
+                this.deliver(state);
+            }
+            this.purge();
+        }
+        catch(Exception ex)
+        {
+            logger.warn("Outbox poll failed: " + ex);
+        }
+    }
+
+    private void deliver(ConsumerState state)
+    {
+        if(!state.cursor.isStarted())
+        {
+            this.start(state);
+        }
+
+        if(!state.cursor.getPendingGaps().isEmpty() && !this.deliverLate(state))
+        {
+            return;
+        }
+
+        while(true)
+        {
+            long now = System.currentTimeMillis();
+            List<OutboxEvent> events = this.outboxRepository.getAfter(state.cursor.getPosition(), this.batchSize);
+            List<OutboxEvent> batch = state.cursor.contiguous(events, now);
+            if(batch.isEmpty())
+            {
+                return;
+            }
+
+            Set<Long> openTransactions = state.cursor.skipsIds(batch) ? this.getOpenTransactions() : null;
+            if(!this.accept(state, batch))
+            {
+                return;
+            }
+
+            List<Long> evicted = state.cursor.advance(batch, openTransactions, now);
+            if(!evicted.isEmpty())
+            {
+                logger.warn("Outbox consumer " + state.consumer.getName() + " has more than " + this.maxPendingGaps + " pending ids, giving up on " + evicted);
+            }
+            this.saveCheckpoint(state);
+
+            if((events.size() < this.batchSize) || (batch.size() < events.size()))
+            {
+                return;
+            }
+        }
+    }
+
+    // Re-reads the ids the consumer moved past; the open transactions are listed first so that a pending id whose
+    // transactions have all ended and that the re-read still misses was rolled back
+    private boolean deliverLate(ConsumerState state)
+    {
+        long now = System.currentTimeMillis();
+        Set<Long> openTransactions = this.getOpenTransactions();
+        List<OutboxEvent> late = this.outboxRepository.getByIds(state.cursor.getPendingGaps());
+        if(!late.isEmpty() && !this.accept(state, late))
+        {
+            return false;
+        }
+
+        List<Long> rolledBack = state.cursor.settle(late, openTransactions, now);
+        if(!rolledBack.isEmpty())
+        {
+            logger.info("Outbox consumer " + state.consumer.getName() + " treats ids " + rolledBack + " as rolled back");
+        }
+        this.saveCheckpoint(state);
+        return true;
+    }
+
+    private boolean accept(ConsumerState state, List<OutboxEvent> events)
+    {
+        try
+        {
+            state.consumer.accept(events);
+        }
+        catch(Exception ex)
+        {
+            logger.warn("Outbox consumer " + state.consumer.getName() + " failed at event " + events.get(0).getId() + ", retrying on the next poll: " + ex);
+            return false;
+        }
+
+        state.delivered.add(events.size());
+        return true;
+    }
+
+    private void start(ConsumerState state)
+    {
+        if(!state.consumer.isDurable())
+        {
+            state.cursor.start(this.headEventId);
+            return;
+        }
+
+        OutboxCheckpoint checkpoint = this.outboxRepository.getCheckpoint(state.consumer.getName());
+        if(null == checkpoint)
+        {
+            checkpoint = new OutboxCheckpoint();
+            checkpoint.setConsumer(state.consumer.getName());
+            checkpoint.setLastEventId(0L);
+        }
+        state.checkpoint = checkpoint;
+        state.cursor.start(checkpoint.getLastEventId());
+    }
+
+    private void saveCheckpoint(ConsumerState state)
+    {
+        long committedPosition = state.cursor.getCommittedPosition();
+        if((null == state.checkpoint) || (committedPosition == state.checkpoint.getLastEventId()))
+        {
+            return;
+        }
+
+        state.checkpoint.setLastEventId(committedPosition);
+        state.checkpoint.setUpdatedAt(System.currentTimeMillis());
+        this.outboxRepository.saveCheckpoint(state.checkpoint);
+    }
+
+    // Listing InnoDB transactions needs the PROCESS privilege; without it pending ids fall back to gapTimeout
+    private Set<Long> getOpenTransactions()
+    {
+        try
+        {
+            return this.outboxRepository.getOpenTransactionIds();
+        }
+        catch(Exception ex)
+        {
+            if(!this.openTransactionsUnavailable)
+            {
+                this.openTransactionsUnavailable = true;
+                logger.warn("Cannot list open transactions, pending outbox ids expire after gapTimeout: " + ex);
+            }
+            return null;
+        }
+    }
+
+    private void purge()
+    {
+        long now = System.currentTimeMillis();
+        if((now - this.purgedAt) < PURGE_INTERVAL_MILLIS)
+        {
+            return;
+        }
+        this.purgedAt = now;
+
+        long delivered = Long.MAX_VALUE;
+        for(ConsumerState state: this.consumers)
+        {
+            delivered = Math.min(delivered, state.cursor.getCommittedPosition());
+        }
+        if(delivered > 0)
+        {
+            this.outboxRepository.removeDeliveredBefore(delivered, now - this.retentionMillis);
+        }
+    }
+
+    private static class ConsumerState
+    {
+        private final ChangeConsumer consumer;
+        private final OutboxCursor cursor;
+        private final LongAdder delivered = new LongAdder();
+        private OutboxCheckpoint checkpoint;
+
+        private ConsumerState(ChangeConsumer consumer, OutboxCursor cursor)
+        {
+            this.consumer = consumer;
+            this.cursor = cursor;
+        }
+    }
+}
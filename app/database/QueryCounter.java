@@ -0,0 +1,179 @@
+package database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+public class QueryCounter
+{
+    private static final Logger logger = LoggerFactory.getLogger(QueryCounter.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    // Statement.executeBatch() on a plain Statement carries no SQL of its own
+    static final String BATCH = "<batch>";
+
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    private static volatile int defaultBudget = 25;
+    private static volatile int repeatThreshold = 5;
+    private static volatile boolean tagStatements = false;
+    private static volatile Map<String, Integer> budgets = Collections.emptyMap();
+
+    public static void configure(int defaultBudget, int repeatThreshold, boolean tagStatements, Map<String, Integer> budgets)
+    {
+        QueryCounter.defaultBudget = defaultBudget;
+        QueryCounter.repeatThreshold = repeatThreshold;
+        QueryCounter.tagStatements = tagStatements;
+        QueryCounter.budgets = new HashMap<>(budgets);
+    }
+
+    public static Scope open(String label)
+    {
+        Scope scope = currentScope.get();
+        if(null != scope)
+        {
+            scope.depth++;
+            return scope;
+        }
+
+        scope = new Scope(label);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    // Runs call in a scope labeled with the request's route, so the statements of every service it reaches count
+    // against that route's budget; a service called outside a request opens its own Service.method scope
+    public static <T> Supplier<T> bind(String label, Supplier<T> call)
+    {
+        return () -> {
+            try(Scope scope = open(label))
+            {
+                return call.get();
+            }
+        };
+    }
+
+    public static String currentLabel()
+    {
+        Scope scope = currentScope.get();
+        return (null == scope) ? null : scope.label;
+    }
+
+    public static String tag(String sql)
+    {
+        Scope scope = currentScope.get();
+        if(!tagStatements || (null == scope))
+        {
+            return sql;
+        }
+
+        return "/* " + scope.label + " */ " + sql;
+    }
+
+    public static void record(String sql)
+    {
+        Scope scope = currentScope.get();
+        if(null != scope)
+        {
+            scope.count++;
+            scope.shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    public static void recordRows(long rows)
+    {
+        Scope scope = currentScope.get();
+        if(null != scope)
+        {
+            scope.rows += rows;
+        }
+    }
+
+    public static int count()
+    {
+        Scope scope = currentScope.get();
+        return (null == scope) ? 0 : scope.count;
+    }
+
+    public static long rows()
+    {
+        Scope scope = currentScope.get();
+        return (null == scope) ? 0L : scope.rows;
+    }
+
+    static String shape(String sql)
+    {
+        if(null == sql)
+        {
+            return BATCH;
+        }
+
+        String shape = sql;
+        if(shape.startsWith("/* "))
+        {
+            shape = shape.substring(shape.indexOf("*/") + 2);
+        }
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return shape.trim();
+    }
+
+    public static class Scope implements AutoCloseable
+    {
+        private final String label;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int count = 0;
+        private long rows = 0L;
+        private int depth = 0;
+
+        private Scope(String label)
+        {
+            this.label = label;
+        }
+
+        public int getCount()
+        {
+            return this.count;
+        }
+
+        Map<String, Integer> getShapes()
+        {
+            return this.shapes;
+        }
+
+        @Override
+        public void close()
+        {
+            if(this.depth > 0)
+            {
+                this.depth--;
+                return;
+            }
+
+            currentScope.remove();
+
+            int budget = budgets.getOrDefault(this.label, defaultBudget);
+            if(this.count > budget)
+            {
+                logger.warn("Query budget exceeded for " + this.label + ": " + this.count + " queries, budget " + budget);
+            }
+
+            for(Map.Entry<String, Integer> entry: this.shapes.entrySet())
+            {
+                if(entry.getValue() > repeatThreshold)
+                {
+                    logger.warn("Possible N+1 in " + this.label + ": statement repeated " + entry.getValue() + " times: " + entry.getKey());
+                }
+            }
+        }
+    }
+}
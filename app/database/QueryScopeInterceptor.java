@@ -0,0 +1,33 @@
+package database;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class QueryScopeInterceptor implements MethodInterceptor
+{
+    private final Map<Method, String> labels = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable
+    {
+        String label = this.labels.computeIfAbsent(invocation.getMethod(), QueryScopeInterceptor::label);
+        try(QueryCounter.Scope scope = QueryCounter.open(label))
+        {
+            return invocation.proceed();
+        }
+    }
+
+    private static String label(Method method)
+    {
+        String className = method.getDeclaringClass().getSimpleName();
+        if(className.endsWith("Impl"))
+        {
+            className = className.substring(0, className.length() - "Impl".length());
+        }
+        return className + "." + method.getName();
+    }
+}
@@ -0,0 +1,103 @@
+package database;
+
+import lombok.Getter;
+import play.mvc.Http;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Getter
+public class ReadConsistency
+{
+    public static final String CONSISTENCY_HEADER = "X-Consistency";
+    public static final String MAX_STALENESS_HEADER = "X-Max-Staleness";
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    public static final ReadConsistency PRIMARY = new ReadConsistency(true, -1L, null);
+    public static final ReadConsistency REPLICA = new ReadConsistency(false, -1L, null);
+
+    private static final ThreadLocal<ReadConsistency> current = new ThreadLocal<>();
+
+    private final boolean primary;
+    private final long maxStalenessMillis;
+    private final BinlogPosition readAfter;
+
+    private ReadConsistency(boolean primary, long maxStalenessMillis, BinlogPosition readAfter)
+    {
+        this.primary = primary;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.readAfter = readAfter;
+    }
+
+    // X-Consistency: strong pins the request to the primary, X-Max-Staleness (seconds) overrides the default lag
+    // tolerance and X-Read-After (the primary binlog position returned by writes) only allows replicas that have
+    // executed up to it
+    public static ReadConsistency from(Http.RequestHeader request)
+    {
+        if(request.header(CONSISTENCY_HEADER).map("strong"::equalsIgnoreCase).orElse(false))
+        {
+            return PRIMARY;
+        }
+
+        long maxStalenessMillis = parse(request.header(MAX_STALENESS_HEADER)).map(seconds -> seconds * 1000L).orElse(-1L);
+        BinlogPosition readAfter = request.header(READ_AFTER_HEADER).map(String::trim).flatMap(BinlogPosition::parse).orElse(null);
+        if((maxStalenessMillis < 0) && (null == readAfter))
+        {
+            return REPLICA;
+        }
+        return new ReadConsistency(false, maxStalenessMillis, readAfter);
+    }
+
+    public static ReadConsistency current()
+    {
+        ReadConsistency consistency = current.get();
+        return (null == consistency) ? PRIMARY : consistency;
+    }
+
+    public static Runnable propagate(Runnable runnable)
+    {
+        ReadConsistency consistency = current.get();
+        return (null == consistency) ? runnable : () -> consistency.supply(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    public <T> T supply(Supplier<T> call)
+    {
+        ReadConsistency previous = current.get();
+        current.set(this);
+        try
+        {
+            return call.get();
+        }
+        finally
+        {
+            if(null == previous)
+            {
+                current.remove();
+            }
+            else
+            {
+                current.set(previous);
+            }
+        }
+    }
+
+    public <T> Supplier<T> bind(Supplier<T> call)
+    {
+        return () -> this.supply(call);
+    }
+
+    private static Optional<Long> parse(Optional<String> value)
+    {
+        try
+        {
+            return value.map(String::trim).map(Long::parseLong);
+        }
+        catch(NumberFormatException ex)
+        {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package database;
+
+import lombok.Getter;
+
+// What the last lag probe saw on the replica. appliedPosition is the primary binlog coordinate the replica has executed
+// up to, so a read carrying X-Read-After is served only once the write it followed has been replayed, whichever
+// application instance took that write
+@Getter
+class ReplicaStatus
+{
+    static final ReplicaStatus UNKNOWN = new ReplicaStatus(true, Long.MAX_VALUE, null);
+
+    // SHOW SLAVE STATUS returns no rows on a server that does not replicate, i.e. db.replica is an alias of the primary
+    static final ReplicaStatus NOT_REPLICATING = new ReplicaStatus(false, 0L, null);
+
+    private final boolean replicating;
+    private final long lagMillis;
+    private final BinlogPosition appliedPosition;
+
+    ReplicaStatus(boolean replicating, long lagMillis, BinlogPosition appliedPosition)
+    {
+        this.replicating = replicating;
+        this.lagMillis = lagMillis;
+        this.appliedPosition = appliedPosition;
+    }
+
+    boolean canServe(ReadConsistency consistency, long defaultMaxStalenessMillis)
+    {
+        long maxStalenessMillis = (consistency.getMaxStalenessMillis() >= 0) ? consistency.getMaxStalenessMillis() : defaultMaxStalenessMillis;
+        if(this.lagMillis > maxStalenessMillis)
+        {
+            return false;
+        }
+
+        BinlogPosition readAfter = consistency.getReadAfter();
+        return ((null == readAfter) || !this.replicating || ((null != this.appliedPosition) && (this.appliedPosition.compareTo(readAfter) >= 0)));
+    }
+}
@@ -0,0 +1,82 @@
+package database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.ebean.Transaction;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// SQL text is fixed per NamedQuery, so the driver statement cache reuses one server-side statement per connection
+@Singleton
+public class SqlExecutor
+{
+    private final DatabaseRouter databaseRouter;
+
+    @Inject
+    public SqlExecutor(DatabaseRouter databaseRouter)
+    {
+        this.databaseRouter = databaseRouter;
+    }
+
+    public <T> List<T> list(NamedQuery query, RowMapper<T> mapper, Object... parameters) throws SQLException
+    {
+        List<T> rows = new ArrayList<>();
+        this.forEach(query, resultSet -> rows.add(mapper.map(resultSet)), parameters);
+        return rows;
+    }
+
+    public <T> T one(NamedQuery query, RowMapper<T> mapper, Object... parameters) throws SQLException
+    {
+        List<T> rows = this.list(query, mapper, parameters);
+        return (rows.isEmpty() ? null : rows.get(0));
+    }
+
+    public void forEach(NamedQuery query, RowHandler handler, Object... parameters) throws SQLException
+    {
+        Transaction transaction = this.databaseRouter.primary().currentTransaction();
+        boolean owned = (null == transaction);
+        if(owned)
+        {
+            transaction = this.databaseRouter.forRead().createTransaction();
+            transaction.setReadOnly(true);
+        }
+
+        try
+        {
+            Connection connection = transaction.getConnection();
+            try(PreparedStatement statement = connection.prepareStatement(query.getSql()))
+            {
+                int timeoutSeconds = this.databaseRouter.getStatementTimeoutSeconds();
+                if(timeoutSeconds > 0)
+                {
+                    statement.setQueryTimeout(timeoutSeconds);
+                }
+
+                for(int index = 0; index < parameters.length; index++)
+                {
+                    statement.setObject(index + 1, parameters[index]);
+                }
+
+                try(ResultSet resultSet = statement.executeQuery())
+                {
+                    while(resultSet.next())
+                    {
+                        handler.handle(resultSet);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            if(owned)
+            {
+                transaction.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sampled statements go to sql.trace, whose async appender discards them when it falls behind. Slow and failed ones are
+// handed to a bounded queue of their own drained by one writer thread into sql.trace.slow; a JDBC caller never waits on
+// either, and what overflows the queue is counted in getDropped()
+public class SqlTracer
+{
+    private static final Logger logger = LoggerFactory.getLogger("sql.trace");
+    private static final Logger slowLogger = LoggerFactory.getLogger("sql.trace.slow");
+    private static final LongAdder dropped = new LongAdder();
+    private static final Object writerLock = new Object();
+
+    private static volatile BlockingQueue<String> slowQueue = null;
+
+    private static volatile boolean enabled = false;
+    private static volatile double sampleRate = 0.0;
+    private static volatile long slowThresholdNanos = Long.MAX_VALUE;
+    private static volatile int maxBindLength = 200;
+
+    public static void configure(boolean enabled, double sampleRate, long slowThresholdMillis, int maxBindLength, int slowQueueSize)
+    {
+        SqlTracer.sampleRate = sampleRate;
+        SqlTracer.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        SqlTracer.maxBindLength = maxBindLength;
+        if(enabled)
+        {
+            startWriter(slowQueueSize);
+        }
+        SqlTracer.enabled = enabled;
+    }
+
+    public static long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    private static void startWriter(int slowQueueSize)
+    {
+        synchronized(writerLock)
+        {
+            if(null != slowQueue)
+            {
+                return;
+            }
+
+            BlockingQueue<String> queue = new ArrayBlockingQueue<>(slowQueueSize);
+            Thread writer = new Thread(() -> {
+                while(true)
+                {
+                    try
+                    {
+                        slowLogger.warn(queue.take());
+                    }
+                    catch(InterruptedException ex)
+                    {
+                        return;
+                    }
+                }
+            }, "sql-trace-writer");
+            writer.setDaemon(true);
+            writer.start();
+            slowQueue = queue;
+        }
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void trace(String sql, Object[] binds, long elapsedNanos, Throwable error)
+    {
+        boolean slow = (elapsedNanos >= slowThresholdNanos);
+        if(!slow && (null == error) && (ThreadLocalRandom.current().nextDouble() >= sampleRate))
+        {
+            return;
+        }
+
+        String label = QueryCounter.currentLabel();
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        if((null == error) && !slow)
+        {
+            logger.info("sampled route={} micros={} sql={} binds={}", label, micros, sql, binds(binds));
+            return;
+        }
+
+        String line = ((null != error) ? "failed" : "slow") + " route=" + label + " micros=" + micros + " sql=" + sql + " binds=" + binds(binds) + ((null != error) ? " error=" + error : "");
+        BlockingQueue<String> queue = slowQueue;
+        if((null == queue) || !queue.offer(line))
+        {
+            dropped.increment();
+        }
+    }
+
+    private static String binds(Object[] binds)
+    {
+        if(null == binds)
+        {
+            return "[]";
+        }
+
+        String[] values = new String[binds.length];
+        for(int i = 0; i < binds.length; i++)
+        {
+            String value = String.valueOf(binds[i]);
+            values[i] = (value.length() > maxBindLength) ? value.substring(0, maxBindLength) + "..." : value;
+        }
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,55 @@
+package database;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("cricbuzz.Transaction")
+@Label("Transaction")
+@Category({"Cricbuzz", "Database"})
+@Description("An explicit Ebean transaction in a service, with the entity it wrote, the rows it changed and the statements it ran")
+public class TransactionEvent extends Event
+{
+    @Label("Operation")
+    public String operation;
+
+    @Label("Entity Id")
+    public long entityId;
+
+    @Label("Rows Affected")
+    public long rowsAffected;
+
+    @Label("Statements")
+    public int statements;
+
+    @Label("Committed")
+    public boolean committed;
+
+    private transient int statementsAtStart;
+    private transient long rowsAtStart;
+
+    public static TransactionEvent start(String operation)
+    {
+        TransactionEvent event = new TransactionEvent();
+        event.operation = operation;
+        event.statementsAtStart = QueryCounter.count();
+        event.rowsAtStart = QueryCounter.rows();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Long entityId, boolean committed)
+    {
+        this.end();
+        if(this.shouldCommit())
+        {
+            this.entityId = (null == entityId) ? -1L : entityId;
+            this.rowsAffected = QueryCounter.rows() - this.rowsAtStart;
+            this.statements = QueryCounter.count() - this.statementsAtStart;
+            this.committed = committed;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package database;
+
+import enums.WorkloadClass;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Repository methods without it are OLTP
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Workload
+{
+    WorkloadClass value();
+}
@@ -0,0 +1,38 @@
+package database;
+
+import enums.WorkloadClass;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class WorkloadInterceptor implements MethodInterceptor
+{
+    private static final ThreadLocal<WorkloadClass> current = new ThreadLocal<>();
+
+    public static WorkloadClass current()
+    {
+        WorkloadClass workloadClass = current.get();
+        return (null == workloadClass) ? WorkloadClass.OLTP : workloadClass;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable
+    {
+        WorkloadClass previous = current.get();
+        current.set(invocation.getMethod().getAnnotation(Workload.class).value());
+        try
+        {
+            return invocation.proceed();
+        }
+        finally
+        {
+            if(null == previous)
+            {
+                current.remove();
+            }
+            else
+            {
+                current.set(previous);
+            }
+        }
+    }
+}
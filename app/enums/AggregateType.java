@@ -0,0 +1,8 @@
+package enums;
+
+public enum AggregateType
+{
+    MATCH,
+    SERIES,
+    PLAYER
+}
@@ -0,0 +1,8 @@
+package enums;
+
+public enum ChangeType
+{
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -10,7 +10,11 @@ public enum ErrorCode
     INVALID_REQUEST(4002, "Invalid Request"),
     DB_INTERACTION_FAILED(4003, "DB Interaction Failed"),
     ALREADY_EXISTS(4004, "Already Exists"),
-    INTERNAL_SERVER_ERROR(4005, "Internal Server Error");
+    INTERNAL_SERVER_ERROR(4005, "Internal Server Error"),
+    OVERLOADED(4006, "Server Overloaded, Retry Later"),
+    IDEMPOTENCY_KEY_REUSED(4007, "Idempotency Key Reused With A Different Request"),
+    VERSION_CONFLICT(4008, "%s Was Modified Concurrently, Reload And Retry"),
+    IDEMPOTENCY_KEY_IN_PROGRESS(4009, "A Request With This Idempotency Key Is Still In Progress, Retry Later");
 
     @Getter
     private int code;
@@ -0,0 +1,8 @@
+package enums;
+
+public enum RequestPriority
+{
+    HIGH,
+    NORMAL,
+    LOW
+}
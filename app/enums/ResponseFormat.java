@@ -0,0 +1,15 @@
+package enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+public enum ResponseFormat
+{
+    JSON("application/json"),
+    CBOR("application/cbor"),
+    SMILE("application/x-jackson-smile");
+
+    @Getter
+    private String mimeType;
+}
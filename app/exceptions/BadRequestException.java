@@ -13,6 +13,6 @@ public class BadRequestException extends MyException
 
     public BadRequestException(Integer code, String description)
     {
-        super(code, description);
+        super(code, description, false);
     }
 }
@@ -19,6 +19,12 @@ public class MyException extends RuntimeException
 
     public MyException(Integer code, String description)
     {
+        this(code, description, true);
+    }
+
+    protected MyException(Integer code, String description, boolean writableStackTrace)
+    {
+        super(description, null, false, writableStackTrace);
         this.code = code;
         this.description = description;
     }
@@ -14,7 +14,7 @@ public class NotFoundException extends MyException
 
     public NotFoundException(Integer code, String description)
     {
-        super(code, description);
+        super(code, description, false);
     }
 
     public NotFoundException(String entity)
@@ -0,0 +1,18 @@
+package exceptions;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class PreconditionFailedException extends MyException
+{
+    static final long serialVersionUID = 3L;
+
+    private Integer httpStatusCode = 412;
+
+    public PreconditionFailedException(Integer code, String description)
+    {
+        super(code, description, false);
+    }
+}
@@ -0,0 +1,160 @@
+package filters;
+
+import akka.stream.Materializer;
+import akka.util.ByteString;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.inject.Inject;
+import com.typesafe.config.Config;
+import enums.ErrorCode;
+import enums.RequestPriority;
+import metrics.MetricsRegistry;
+import metrics.PoolMetrics;
+import play.http.HttpEntity;
+import play.libs.Json;
+import play.mvc.Filter;
+import play.mvc.Http;
+import play.mvc.Result;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class AdmissionFilter extends Filter
+{
+    private final PoolMetrics poolMetrics;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final RequestPriority defaultPriority;
+    private final Map<String, RequestPriority> routePriorities = new HashMap<>();
+    private final Map<RequestPriority, Limits> limits = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, AtomicInteger> inFlight = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, LongAdder> rejected = new EnumMap<>(RequestPriority.class);
+    private final ByteString rejectionBody;
+
+    @Inject
+    public AdmissionFilter
+    (
+        Materializer materializer,
+        Config config,
+        MetricsRegistry metricsRegistry,
+        PoolMetrics poolMetrics
+    )
+    {
+        super(materializer);
+        this.poolMetrics = poolMetrics;
+
+        Config admission = config.getConfig("admission");
+        this.enabled = admission.getBoolean("enabled");
+        this.retryAfterSeconds = String.valueOf(Math.max(1L, admission.getDuration("retryAfter", TimeUnit.SECONDS)));
+        this.defaultPriority = priority(admission.getString("defaultPriority"));
+        for(Map.Entry<String, Object> entry: admission.getConfig("routes").root().unwrapped().entrySet())
+        {
+            this.routePriorities.put(entry.getKey(), priority(entry.getValue().toString()));
+        }
+
+        for(RequestPriority priority: RequestPriority.values())
+        {
+            String key = priority.name().toLowerCase();
+            if(admission.hasPath("limits." + key))
+            {
+                Config limits = admission.getConfig("limits." + key);
+                this.limits.put(priority, new Limits(limits.getInt("maxInFlight"), limits.getInt("maxPoolPending"), limits.getDuration("maxAcquireWait", TimeUnit.NANOSECONDS)));
+            }
+
+            AtomicInteger inFlight = new AtomicInteger();
+            LongAdder rejected = new LongAdder();
+            this.inFlight.put(priority, inFlight);
+            this.rejected.put(priority, rejected);
+            metricsRegistry.gauge("admission_in_flight", "priority", key, inFlight::get);
+            metricsRegistry.gauge("admission_rejected_total", "priority", key, rejected::sum);
+        }
+
+        ObjectNode body = Json.newObject();
+        body.put("code", ErrorCode.OVERLOADED.getCode());
+        body.put("description", ErrorCode.OVERLOADED.getDescription());
+        this.rejectionBody = ByteString.fromString(Json.stringify(body));
+    }
+
+    @Override
+    public CompletionStage<Result> apply(Function<Http.RequestHeader, CompletionStage<Result>> next, Http.RequestHeader requestHeader)
+    {
+        if(!this.enabled)
+        {
+            return next.apply(requestHeader);
+        }
+
+        RequestPriority priority = this.priorityFor(MetricsFilter.route(requestHeader));
+        AtomicInteger inFlight = this.inFlight.get(priority);
+        int current = inFlight.incrementAndGet();
+        if(this.overloaded(priority, current))
+        {
+            inFlight.decrementAndGet();
+            this.rejected.get(priority).increment();
+            return CompletableFuture.completedFuture(new Result(Http.Status.SERVICE_UNAVAILABLE, new HttpEntity.Strict(this.rejectionBody, Optional.of(Http.MimeTypes.JSON)))
+                .withHeader(Http.HeaderNames.RETRY_AFTER, this.retryAfterSeconds));
+        }
+
+        CompletionStage<Result> result;
+        try
+        {
+            result = next.apply(requestHeader);
+        }
+        catch(RuntimeException ex)
+        {
+            inFlight.decrementAndGet();
+            throw ex;
+        }
+        return result.whenComplete((value, ex) -> inFlight.decrementAndGet());
+    }
+
+    private boolean overloaded(RequestPriority priority, int inFlight)
+    {
+        Limits limits = this.limits.get(priority);
+        if(null == limits)
+        {
+            return false;
+        }
+
+        return (inFlight > limits.maxInFlight)
+            || (this.poolMetrics.getPendingThreads() > limits.maxPoolPending)
+            || (this.poolMetrics.getAcquireWaitNanos() > limits.maxAcquireWaitNanos);
+    }
+
+    // Unmatched requests have no Controller.method route and fall through to the router's 404 at the default priority
+    private RequestPriority priorityFor(String route)
+    {
+        RequestPriority priority = this.routePriorities.get(route);
+        int separator = route.indexOf('.');
+        if((null == priority) && (separator >= 0))
+        {
+            priority = this.routePriorities.get("*" + route.substring(separator));
+        }
+        return (null == priority) ? this.defaultPriority : priority;
+    }
+
+    private static RequestPriority priority(String value)
+    {
+        return RequestPriority.valueOf(value.toUpperCase());
+    }
+
+    private static class Limits
+    {
+        private final int maxInFlight;
+        private final int maxPoolPending;
+        private final long maxAcquireWaitNanos;
+
+        private Limits(int maxInFlight, int maxPoolPending, long maxAcquireWaitNanos)
+        {
+            this.maxInFlight = maxInFlight;
+            this.maxPoolPending = maxPoolPending;
+            this.maxAcquireWaitNanos = maxAcquireWaitNanos;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package filters;
+
+import akka.stream.Materializer;
+import com.google.inject.Inject;
+import metrics.MetricsRegistry;
+import play.mvc.Filter;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.routing.Router;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+public class MetricsFilter extends Filter
+{
+    private final MetricsRegistry metricsRegistry;
+
+    @Inject
+    public MetricsFilter
+    (
+        Materializer materializer,
+        MetricsRegistry metricsRegistry
+    )
+    {
+        super(materializer);
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public CompletionStage<Result> apply(Function<Http.RequestHeader, CompletionStage<Result>> next, Http.RequestHeader requestHeader)
+    {
+        long start = System.nanoTime();
+        String route = route(requestHeader);
+
+        return next.apply(requestHeader).whenComplete((result, ex) -> {
+            boolean failed = (null != ex) || (result.status() >= Http.Status.INTERNAL_SERVER_ERROR);
+            this.metricsRegistry.timer(MetricsRegistry.HTTP_REQUESTS, route).record(System.nanoTime() - start, failed);
+        });
+    }
+
+    public static String route(Http.RequestHeader requestHeader)
+    {
+        return requestHeader.attrs().getOptional(Router.Attrs.HANDLER_DEF)
+            .map(handlerDef -> handlerDef.controller().substring(handlerDef.controller().lastIndexOf('.') + 1) + "." + handlerDef.method())
+            .orElse("unmatched");
+    }
+}
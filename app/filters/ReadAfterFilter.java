@@ -0,0 +1,50 @@
+package filters;
+
+import akka.stream.Materializer;
+import com.google.inject.Inject;
+import database.DatabaseRouter;
+import database.ReadConsistency;
+import modules.DatabaseExecutionContext;
+import play.mvc.Filter;
+import play.mvc.Http;
+import play.mvc.Result;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+public class ReadAfterFilter extends Filter
+{
+    private final DatabaseRouter databaseRouter;
+    private final DatabaseExecutionContext databaseExecutionContext;
+
+    @Inject
+    public ReadAfterFilter(Materializer materializer, DatabaseRouter databaseRouter, DatabaseExecutionContext databaseExecutionContext)
+    {
+        super(materializer);
+        this.databaseRouter = databaseRouter;
+        this.databaseExecutionContext = databaseExecutionContext;
+    }
+
+    // Successful writes hand back the primary binlog position once they have committed; echoing it as X-Read-After keeps
+    // the client's next reads, on any instance, off replicas that have not executed that far yet. SHOW MASTER STATUS
+    // blocks on the primary, so it runs on the database dispatcher rather than the thread completing the action
+    @Override
+    public CompletionStage<Result> apply(Function<Http.RequestHeader, CompletionStage<Result>> next, Http.RequestHeader requestHeader)
+    {
+        String method = requestHeader.method();
+        if("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method))
+        {
+            return next.apply(requestHeader);
+        }
+
+        return next.apply(requestHeader).thenCompose(result -> {
+            if((result.status() >= 300) || !this.databaseRouter.isReplicaEnabled())
+            {
+                return CompletableFuture.completedFuture(result);
+            }
+
+            return CompletableFuture.supplyAsync(this.databaseRouter::getPrimaryPosition, this.databaseExecutionContext).thenApply(position -> (null == position) ? result : result.withHeader(ReadConsistency.READ_AFTER_HEADER, position.toString()));
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Histogram
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value)
+    {
+        long v = Math.max(0L, value);
+        this.buckets.incrementAndGet(index(v));
+        this.count.increment();
+        this.sum.add(v);
+
+        long currentMax = this.max.get();
+        while((v > currentMax) && !this.max.compareAndSet(currentMax, v))
+        {
+            currentMax = this.max.get();
+        }
+    }
+
+    public long getCount()
+    {
+        return this.count.sum();
+    }
+
+    public long getSum()
+    {
+        return this.sum.sum();
+    }
+
+    public long getMax()
+    {
+        return this.max.get();
+    }
+
+    public long[] percentiles(double... quantiles)
+    {
+        long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for(int i = 0; i < BUCKETS; i++)
+        {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+
+        long[] values = new long[quantiles.length];
+        if(0L == total)
+        {
+            return values;
+        }
+
+        for(int q = 0; q < quantiles.length; q++)
+        {
+            long rank = Math.max(1L, (long) Math.ceil(quantiles[q] * total));
+            long seen = 0L;
+            for(int i = 0; i < BUCKETS; i++)
+            {
+                seen += counts[i];
+                if(seen >= rank)
+                {
+                    values[q] = Math.min(upperBound(i), this.max.get());
+                    break;
+                }
+            }
+        }
+
+        return values;
+    }
+
+    static int index(long value)
+    {
+        if(value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if(exponent > MAX_EXPONENT)
+        {
+            return BUCKETS - 1;
+        }
+
+        int mantissa = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long upperBound(int index)
+    {
+        if(index < SUB_BUCKETS)
+        {
+            return index;
+        }
+
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long mantissa = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
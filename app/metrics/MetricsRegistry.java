@@ -0,0 +1,110 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+public class MetricsRegistry
+{
+    public static final String HTTP_REQUESTS = "http_server_requests_seconds";
+    public static final String REPOSITORY_CALLS = "repository_calls_seconds";
+    public static final String POOL_ACQUIRE = "hikaricp_connection_acquire_seconds";
+    public static final String POOL_USAGE = "hikaricp_connection_usage_seconds";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final Map<String, Family> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, Supplier<Number>>> gauges = new ConcurrentSkipListMap<>();
+
+    public MetricsRegistry()
+    {
+        this.family(HTTP_REQUESTS, "route");
+        this.family(REPOSITORY_CALLS, "method");
+        this.family(POOL_ACQUIRE, "pool");
+        this.family(POOL_USAGE, "pool");
+    }
+
+    public Timer timer(String name, String label)
+    {
+        return this.timers.get(name).timers.computeIfAbsent(label, key -> new Timer());
+    }
+
+    public void gauge(String name, String labelName, String label, Supplier<Number> supplier)
+    {
+        this.gauges.computeIfAbsent(name, key -> new ConcurrentSkipListMap<>()).put(labelName + "=\"" + escape(label) + "\"", supplier);
+    }
+
+    public String scrape()
+    {
+        StringBuilder builder = new StringBuilder(4096);
+
+        for(Map.Entry<String, Family> familyEntry: this.timers.entrySet())
+        {
+            String name = familyEntry.getKey();
+            Family family = familyEntry.getValue();
+
+            builder.append("# TYPE ").append(name).append(" summary\n");
+            for(Map.Entry<String, Timer> entry: family.timers.entrySet())
+            {
+                String labels = family.labelName + "=\"" + escape(entry.getKey()) + "\"";
+                Histogram histogram = entry.getValue().getHistogram();
+                long[] percentiles = histogram.percentiles(QUANTILES);
+                for(int i = 0; i < QUANTILES.length; i++)
+                {
+                    builder.append(name).append('{').append(labels).append(",quantile=\"").append(QUANTILES[i]).append("\"} ").append(seconds(percentiles[i])).append('\n');
+                }
+                builder.append(name).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+                builder.append(name).append("_sum{").append(labels).append("} ").append(seconds(histogram.getSum())).append('\n');
+            }
+
+            builder.append("# TYPE ").append(name).append("_max gauge\n");
+            for(Map.Entry<String, Timer> entry: family.timers.entrySet())
+            {
+                builder.append(name).append("_max{").append(family.labelName).append("=\"").append(escape(entry.getKey())).append("\"} ").append(seconds(entry.getValue().getHistogram().getMax())).append('\n');
+            }
+
+            builder.append("# TYPE ").append(name).append("_errors_total counter\n");
+            for(Map.Entry<String, Timer> entry: family.timers.entrySet())
+            {
+                builder.append(name).append("_errors_total{").append(family.labelName).append("=\"").append(escape(entry.getKey())).append("\"} ").append(entry.getValue().getErrors()).append('\n');
+            }
+        }
+
+        for(Map.Entry<String, Map<String, Supplier<Number>>> gaugeEntry: this.gauges.entrySet())
+        {
+            builder.append("# TYPE ").append(gaugeEntry.getKey()).append(" gauge\n");
+            for(Map.Entry<String, Supplier<Number>> entry: gaugeEntry.getValue().entrySet())
+            {
+                builder.append(gaugeEntry.getKey()).append('{').append(entry.getKey()).append("} ").append(entry.getValue().get()).append('\n');
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private void family(String name, String labelName)
+    {
+        this.timers.put(name, new Family(labelName));
+    }
+
+    private static double seconds(long micros)
+    {
+        return micros / 1_000_000.0;
+    }
+
+    private static String escape(String label)
+    {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static class Family
+    {
+        private final String labelName;
+        private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+
+        private Family(String labelName)
+        {
+            this.labelName = labelName;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package metrics;
+
+import com.google.inject.Inject;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.db.DBApi;
+import play.db.Database;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetrics
+{
+    private static final Logger logger = LoggerFactory.getLogger(PoolMetrics.class);
+
+    private static final long WAIT_STALE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Admission looks at db.default only; a queue on the replica or analytics pool is not load on the primary and must
+    // not shed requests that would get a primary connection straight away
+    private static final String PRIMARY = "default";
+
+    private volatile PoolStats primaryPool = null;
+    private final AtomicLong acquireWaitNanos = new AtomicLong();
+    private volatile long acquireWaitUpdatedAt = 0L;
+
+    @Inject
+    public PoolMetrics
+    (
+        DBApi dbApi,
+        MetricsRegistry metricsRegistry
+    )
+    {
+        for(Database database: dbApi.getDatabases())
+        {
+            try
+            {
+                if(database.getDataSource().isWrapperFor(HikariDataSource.class))
+                {
+                    HikariDataSource dataSource = database.getDataSource().unwrap(HikariDataSource.class);
+                    dataSource.setMetricsTrackerFactory(new TrackerFactory(database.getName(), metricsRegistry, this));
+                }
+            }
+            catch(SQLException | IllegalStateException ex)
+            {
+                logger.warn("Pool metrics unavailable for database " + database.getName() + ". Exception: " + ex);
+            }
+        }
+    }
+
+    public int getPendingThreads()
+    {
+        PoolStats poolStats = this.primaryPool;
+        return (null == poolStats) ? 0 : poolStats.getPendingThreads();
+    }
+
+    public long getAcquireWaitNanos()
+    {
+        if((System.nanoTime() - this.acquireWaitUpdatedAt) > WAIT_STALE_AFTER_NANOS)
+        {
+            return 0L;
+        }
+        return this.acquireWaitNanos.get();
+    }
+
+    private void recordAcquireWait(long elapsedNanos)
+    {
+        long current;
+        long next;
+        do
+        {
+            current = this.acquireWaitNanos.get();
+            next = current + ((elapsedNanos - current) >> 3);
+        }
+        while(!this.acquireWaitNanos.compareAndSet(current, next));
+        this.acquireWaitUpdatedAt = System.nanoTime();
+    }
+
+    private static class TrackerFactory implements MetricsTrackerFactory
+    {
+        private final String databaseName;
+        private final MetricsRegistry metricsRegistry;
+        private final PoolMetrics poolMetrics;
+
+        private TrackerFactory(String databaseName, MetricsRegistry metricsRegistry, PoolMetrics poolMetrics)
+        {
+            this.databaseName = databaseName;
+            this.metricsRegistry = metricsRegistry;
+            this.poolMetrics = poolMetrics;
+        }
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats)
+        {
+            boolean primary = PRIMARY.equals(this.databaseName);
+            if(primary)
+            {
+                this.poolMetrics.primaryPool = poolStats;
+            }
+            this.metricsRegistry.gauge("hikaricp_connections_active", "pool", this.databaseName, poolStats::getActiveConnections);
+            this.metricsRegistry.gauge("hikaricp_connections_idle", "pool", this.databaseName, poolStats::getIdleConnections);
+            this.metricsRegistry.gauge("hikaricp_connections_pending", "pool", this.databaseName, poolStats::getPendingThreads);
+            this.metricsRegistry.gauge("hikaricp_connections_max", "pool", this.databaseName, poolStats::getMaxConnections);
+
+            LongAdder timeouts = new LongAdder();
+            this.metricsRegistry.gauge("hikaricp_connection_timeouts", "pool", this.databaseName, timeouts::sum);
+
+            Timer acquire = this.metricsRegistry.timer(MetricsRegistry.POOL_ACQUIRE, this.databaseName);
+            Timer usage = this.metricsRegistry.timer(MetricsRegistry.POOL_USAGE, this.databaseName);
+
+            return new IMetricsTracker()
+            {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos)
+                {
+                    acquire.record(elapsedAcquiredNanos, false);
+                    if(primary)
+                    {
+                        poolMetrics.recordAcquireWait(elapsedAcquiredNanos);
+                    }
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis)
+                {
+                    usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis), false);
+                }
+
+                @Override
+                public void recordConnectionTimeout()
+                {
+                    timeouts.increment();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+
+@Name("cricbuzz.RepositoryCall")
+@Label("Repository Call")
+@Category({"Cricbuzz", "Database"})
+@Description("A repository method call with the entity id it was given and the rows it returned")
+@StackTrace(false)
+public class RepositoryEvent extends Event
+{
+    @Label("Method")
+    public String method;
+
+    @Label("Entity Id")
+    @Description("First Long/Integer argument, or -1 when the call was not keyed by id")
+    public long entityId;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+
+    public void complete(Method method, Object[] arguments, Object result, boolean failed)
+    {
+        this.end();
+        if(this.shouldCommit())
+        {
+            this.method = RepositoryMetricsInterceptor.label(method);
+            this.entityId = entityId(arguments);
+            this.rows = rows(result);
+            this.failed = failed;
+            this.commit();
+        }
+    }
+
+    private static long entityId(Object[] arguments)
+    {
+        if((arguments.length > 0) && ((arguments[0] instanceof Long) || (arguments[0] instanceof Integer)))
+        {
+            return ((Number) arguments[0]).longValue();
+        }
+        return -1L;
+    }
+
+    private static int rows(Object result)
+    {
+        if(null == result)
+        {
+            return 0;
+        }
+        if(result instanceof Collection)
+        {
+            return ((Collection<?>) result).size();
+        }
+        if(result instanceof Map)
+        {
+            return ((Map<?, ?>) result).size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RepositoryMetricsInterceptor implements MethodInterceptor
+{
+    private final MetricsRegistry metricsRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(MetricsRegistry metricsRegistry)
+    {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable
+    {
+        Method method = invocation.getMethod();
+        Timer timer = this.timers.computeIfAbsent(method, key -> this.metricsRegistry.timer(MetricsRegistry.REPOSITORY_CALLS, label(key)));
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        Object result;
+        try
+        {
+            result = invocation.proceed();
+        }
+        catch(Throwable ex)
+        {
+            timer.record(System.nanoTime() - start, true);
+            event.complete(method, invocation.getArguments(), null, true);
+            throw ex;
+        }
+
+        if(result instanceof CompletionStage)
+        {
+            ((CompletionStage<?>) result).whenComplete((value, ex) -> {
+                timer.record(System.nanoTime() - start, (null != ex));
+                event.complete(method, invocation.getArguments(), value, (null != ex));
+            });
+        }
+        else
+        {
+            timer.record(System.nanoTime() - start, false);
+            event.complete(method, invocation.getArguments(), result, false);
+        }
+
+        return result;
+    }
+
+    public static String label(Method method)
+    {
+        StringBuilder label = new StringBuilder(method.getDeclaringClass().getSimpleName()).append('.').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for(int i = 0; i < parameterTypes.length; i++)
+        {
+            if(i > 0)
+            {
+                label.append(',');
+            }
+            label.append(parameterTypes[i].getSimpleName());
+        }
+        return label.append(')').toString();
+    }
+}
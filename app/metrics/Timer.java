@@ -0,0 +1,29 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Timer
+{
+    private final Histogram histogram = new Histogram();
+    private final LongAdder errors = new LongAdder();
+
+    public void record(long elapsedNanos, boolean failed)
+    {
+        this.histogram.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        if(failed)
+        {
+            this.errors.increment();
+        }
+    }
+
+    public Histogram getHistogram()
+    {
+        return this.histogram;
+    }
+
+    public long getErrors()
+    {
+        return this.errors.sum();
+    }
+}
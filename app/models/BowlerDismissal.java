@@ -3,7 +3,6 @@ package models;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.ebean.Model;
 import io.ebean.annotation.Cache;
-import io.ebean.annotation.CacheQueryTuning;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,8 +12,7 @@ import javax.persistence.*;
 @Setter
 @Entity
 @Table(name = "bowler_dismissals")
-@Cache(enableQueryCache=true)
-@CacheQueryTuning(maxSecsToLive = 3600)
+@Cache
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class BowlerDismissal extends Model
 {
@@ -1,10 +1,12 @@
 package models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import enums.GameType;
+import enums.TeamType;
 import io.ebean.Model;
 import io.ebean.annotation.Cache;
-import io.ebean.annotation.CacheQueryTuning;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,8 +17,7 @@ import java.util.Date;
 @Setter
 @Entity
 @Table(name = "bowling_figures")
-@Cache(enableQueryCache=true)
-@CacheQueryTuning(maxSecsToLive = 3600)
+@Cache
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class BowlingFigure extends Model
 {
@@ -50,4 +51,16 @@ public class BowlingFigure extends Model
 
     @Column(name = "team_innings_id")
     private int teamInnings;
+
+    @JsonIgnore
+    @Column
+    private GameType gameType;
+
+    @JsonIgnore
+    @Column(name = "is_official")
+    private boolean official;
+
+    @JsonIgnore
+    @Column(name = "team_type_id")
+    private TeamType teamType;
 }
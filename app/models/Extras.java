@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import enums.ExtrasType;
 import io.ebean.Model;
 import io.ebean.annotation.Cache;
-import io.ebean.annotation.CacheQueryTuning;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,8 +14,7 @@ import javax.persistence.*;
 @Setter
 @Entity
 @Table(name = "extras")
-@Cache(enableQueryCache=true)
-@CacheQueryTuning(maxSecsToLive = 3600)
+@Cache
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Extras extends Model
 {
@@ -1,10 +1,12 @@
 package models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import enums.GameType;
+import enums.TeamType;
 import io.ebean.Model;
 import io.ebean.annotation.Cache;
-import io.ebean.annotation.CacheQueryTuning;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,8 +16,7 @@ import javax.persistence.*;
 @Setter
 @Entity
 @Table(name = "fielder_dismissals")
-@Cache(enableQueryCache=true)
-@CacheQueryTuning(maxSecsToLive = 3600)
+@Cache
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class FielderDismissal extends Model
 {
@@ -30,4 +31,16 @@ public class FielderDismissal extends Model
 
     @Column
     private Long teamId;
+
+    @JsonIgnore
+    @Column
+    private GameType gameType;
+
+    @JsonIgnore
+    @Column(name = "is_official")
+    private boolean official;
+
+    @JsonIgnore
+    @Column(name = "team_type_id")
+    private TeamType teamType;
 }
@@ -0,0 +1,35 @@
+package models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.ebean.Model;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "idempotency_keys")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class IdempotencyKey extends Model
+{
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    @Column
+    private String operation;
+
+    @Column
+    private String requestHash;
+
+    @Column
+    private Long entityId;
+
+    @Column
+    private Long createdAt;
+}
@@ -65,4 +65,8 @@ public class Match extends Model
 
     @Column
     private boolean isOfficial;
+
+    @Version
+    @Column
+    private Long version;
 }
@@ -6,7 +6,6 @@ import io.ebean.Model;
 import lombok.Getter;
 import lombok.Setter;
 import io.ebean.annotation.Cache;
-import io.ebean.annotation.CacheQueryTuning;
 
 import javax.persistence.*;
 
@@ -14,8 +13,7 @@ import javax.persistence.*;
 @Setter
 @Entity
 @Table(name = "match_player_map")
-@Cache(enableQueryCache=true)
-@CacheQueryTuning(maxSecsToLive = 3600)
+@Cache
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class MatchPlayerMap extends Model
 {
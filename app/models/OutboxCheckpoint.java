@@ -0,0 +1,29 @@
+package models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.ebean.Model;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox_checkpoints")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OutboxCheckpoint extends Model
+{
+    @Id
+    @Column
+    private String consumer;
+
+    @Column
+    private Long lastEventId;
+
+    @Column
+    private Long updatedAt;
+}
@@ -0,0 +1,43 @@
+package models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import enums.AggregateType;
+import enums.ChangeType;
+import io.ebean.Model;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox_events")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OutboxEvent extends Model
+{
+    @Id
+    @Column
+    private Long id;
+
+    @Column
+    private AggregateType aggregateType;
+
+    @Column
+    private Long aggregateId;
+
+    @Column
+    private ChangeType changeType;
+
+    @Column
+    private Long aggregateVersion;
+
+    @Column
+    private String payload;
+
+    @Column
+    private Long createdAt;
+}
@@ -44,4 +44,8 @@ public class Series extends Model
 
     @Column
     private Long startTime;
+
+    @Version
+    @Column
+    private Long version;
 }
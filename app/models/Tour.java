@@ -26,4 +26,7 @@ public class Tour
     private String name;
 
     private Long startTime;
+
+    @Column
+    private Integer year;
 }
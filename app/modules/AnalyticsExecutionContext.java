@@ -0,0 +1,24 @@
+package modules;
+
+import database.ReadConsistency;
+import play.libs.concurrent.CustomExecutionContext;
+import akka.actor.ActorSystem;
+import com.google.inject.Inject;
+
+public class AnalyticsExecutionContext extends CustomExecutionContext
+{
+	@Inject
+	public AnalyticsExecutionContext
+	(
+		ActorSystem actorSystem
+	)
+	{
+		super(actorSystem, "analytics.dispatcher");
+	}
+
+	@Override
+	public void execute(Runnable command)
+	{
+		super.execute(ReadConsistency.propagate(command));
+	}
+}
@@ -1,5 +1,6 @@
 package modules;
 
+import database.ReadConsistency;
 import play.libs.concurrent.CustomExecutionContext;
 import akka.actor.ActorSystem;
 import com.google.inject.Inject;
@@ -14,4 +15,10 @@ public class DatabaseExecutionContext extends CustomExecutionContext
 	{
 		super(actorSystem, "database.dispatcher");
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void execute(Runnable command)
+	{
+		super.execute(ReadConsistency.propagate(command));
+	}
+}
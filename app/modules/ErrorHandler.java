@@ -1,19 +1,29 @@
 package modules;
 
+import akka.util.ByteString;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import enums.ErrorCode;
 import exceptions.MyException;
+import play.http.HttpEntity;
 import play.http.HttpErrorHandler;
 import play.libs.Json;
 import play.mvc.*;
 import play.mvc.Http.*;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
 
 @Singleton
 public class ErrorHandler implements HttpErrorHandler {
+    private static final int MAX_ENCODED_BODIES = 256;
+    private static final Optional<String> JSON = Optional.of(Http.MimeTypes.JSON);
+
+    private final Map<String, ByteString> encodedBodies = new ConcurrentHashMap<>();
+
     public CompletionStage<Result> onClientError(RequestHeader request, int statusCode, String message) {
         return CompletableFuture.completedFuture(Results.status(statusCode, "A client error occurred: " + message));
     }
@@ -38,12 +48,72 @@ public class ErrorHandler implements HttpErrorHandler {
             httpsStatusCode = myException.getHttpStatusCode();
             content = myException.getDescription();
             errorCode = myException.getCode();
+
+            if(httpsStatusCode < 500)
+            {
+                return CompletableFuture.completedFuture(new Result(httpsStatusCode, new HttpEntity.Strict(this.encoded(errorCode, content), JSON)));
+            }
+        }
+
+        return CompletableFuture.completedFuture(new Result(httpsStatusCode, new HttpEntity.Strict(encode(errorCode, content), JSON)));
+    }
+
+    // Only descriptions taken from the exception's ErrorCode are cached; free-form ones (validation messages, decoder
+    // errors) are encoded per response so they cannot fill the slots
+    private ByteString encoded(Integer errorCode, String content)
+    {
+        if(!isErrorCodeDescription(errorCode, content))
+        {
+            return encode(errorCode, content);
+        }
+
+        String key = errorCode + ":" + content;
+        ByteString body = this.encodedBodies.get(key);
+        if(null == body)
+        {
+            body = encode(errorCode, content);
+            if(this.encodedBodies.size() < MAX_ENCODED_BODIES)
+            {
+                this.encodedBodies.putIfAbsent(key, body);
+            }
         }
+        return body;
+    }
+
+    // The description itself, or its "%s" template filled in with an entity name
+    private static boolean isErrorCodeDescription(Integer errorCode, String content)
+    {
+        if((null == errorCode) || (null == content))
+        {
+            return false;
+        }
+
+        for(ErrorCode code: ErrorCode.values())
+        {
+            if(code.getCode() != errorCode)
+            {
+                continue;
+            }
 
-        Map<String, Object> response = new HashMap<>();
+            String description = code.getDescription();
+            int placeholder = description.indexOf("%s");
+            if(placeholder < 0)
+            {
+                return description.equals(content);
+            }
+
+            String prefix = description.substring(0, placeholder);
+            String suffix = description.substring(placeholder + 2);
+            return (content.length() > (prefix.length() + suffix.length())) && content.startsWith(prefix) && content.endsWith(suffix);
+        }
+        return false;
+    }
+
+    private static ByteString encode(Integer errorCode, String content)
+    {
+        ObjectNode response = Json.newObject();
         response.put("code", errorCode);
         response.put("description", content);
-
-        return CompletableFuture.completedFuture(Results.status(httpsStatusCode, Json.toJson(response)));
+        return ByteString.fromString(Json.stringify(response));
     }
 }
@@ -0,0 +1,72 @@
+package modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.matcher.Matchers;
+import com.typesafe.config.Config;
+import database.QueryCounter;
+import database.QueryScopeInterceptor;
+import database.SqlTracer;
+import database.Workload;
+import database.WorkloadInterceptor;
+import metrics.MetricsRegistry;
+import metrics.PoolMetrics;
+import metrics.RepositoryMetricsInterceptor;
+import play.Environment;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class InstrumentationModule extends AbstractModule
+{
+	private final Config config;
+
+	public InstrumentationModule(Environment environment, Config config)
+	{
+		this.config = config;
+	}
+
+	@Override
+	public void configure()
+	{
+		MetricsRegistry metricsRegistry = new MetricsRegistry();
+		bind(MetricsRegistry.class).toInstance(metricsRegistry);
+		bind(PoolMetrics.class).asEagerSingleton();
+
+		bindInterceptor(Matchers.inSubpackage("repositories"), new DeclaredIn("repositories"), new RepositoryMetricsInterceptor(metricsRegistry));
+		bindInterceptor(Matchers.inSubpackage("repositories"), Matchers.annotatedWith(Workload.class), new WorkloadInterceptor());
+
+		Config queryBudget = this.config.getConfig("queryBudget");
+		Map<String, Integer> budgets = new HashMap<>();
+		for(Map.Entry<String, Object> entry: queryBudget.getConfig("routes").root().unwrapped().entrySet())
+		{
+			budgets.put(entry.getKey(), ((Number) entry.getValue()).intValue());
+		}
+		QueryCounter.configure(queryBudget.getInt("default"), queryBudget.getInt("repeatThreshold"), queryBudget.getBoolean("tagStatements"), budgets);
+
+		bindInterceptor(Matchers.inSubpackage("services.impl"), new DeclaredIn("services.impl"), new QueryScopeInterceptor());
+
+		Config sqlTrace = this.config.getConfig("sqlTrace");
+		SqlTracer.configure(sqlTrace.getBoolean("enabled"), sqlTrace.getDouble("sampleRate"), sqlTrace.getDuration("slowThreshold", TimeUnit.MILLISECONDS), sqlTrace.getInt("maxBindLength"), sqlTrace.getInt("slowQueueSize"));
+		metricsRegistry.gauge("sql_trace_dropped_total", "path", "slow", SqlTracer::getDropped);
+	}
+
+	private static class DeclaredIn extends AbstractMatcher<Method>
+	{
+		private final String packageName;
+
+		private DeclaredIn(String packageName)
+		{
+			this.packageName = packageName;
+		}
+
+		@Override
+		public boolean matches(Method method)
+		{
+			return !method.isSynthetic() && Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass().getPackage().getName().equals(this.packageName);
+		}
+	}
+}
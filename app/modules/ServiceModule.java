@@ -1,9 +1,13 @@
 package modules;
 
+import database.ChangeConsumer;
+import database.MatchCacheConsumer;
+import database.OutboxDispatcher;
 import services.*;
 import services.impl.*;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
 
 public class ServiceModule extends AbstractModule
 {
@@ -17,5 +21,9 @@ public class ServiceModule extends AbstractModule
 		bind(SeriesService.class).to(SeriesServiceImpl.class).asEagerSingleton();
 		bind(MatchService.class).to(MatchServiceImpl.class).asEagerSingleton();
 		bind(TourService.class).to(TourServiceImpl.class).asEagerSingleton();
+
+		Multibinder<ChangeConsumer> changeConsumers = Multibinder.newSetBinder(binder(), ChangeConsumer.class);
+		changeConsumers.addBinding().to(MatchCacheConsumer.class);
+		bind(OutboxDispatcher.class).asEagerSingleton();
 	}
 }
\ No newline at end of file
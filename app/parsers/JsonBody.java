@@ -0,0 +1,38 @@
+package parsers;
+
+import akka.util.ByteString;
+import enums.ErrorCode;
+import exceptions.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// A buffered JSON request body; each action binds it straight from the bytes into its own request class
+public class JsonBody
+{
+    private static final Logger logger = LoggerFactory.getLogger(JsonBody.class);
+
+    private final ByteString bytes;
+
+    JsonBody(ByteString bytes)
+    {
+        this.bytes = bytes;
+    }
+
+    public <T> T as(Class<T> type)
+    {
+        try(InputStream inputStream = this.bytes.iterator().asInputStream())
+        {
+            return Utils.readerFor(type).readValue(inputStream);
+        }
+        catch(IOException ex)
+        {
+            // The parser message names classes and fields, so it stays in the log
+            logger.info("Error decoding json body as " + type.getSimpleName() + ": " + ex.getMessage());
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
+        }
+    }
+}
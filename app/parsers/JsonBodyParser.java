@@ -0,0 +1,42 @@
+package parsers;
+
+import akka.util.ByteString;
+import com.google.inject.Inject;
+import play.api.http.HttpConfiguration;
+import play.http.HttpErrorHandler;
+import play.libs.F;
+import play.libs.streams.Accumulator;
+import play.mvc.BodyParser;
+import play.mvc.Http;
+import play.mvc.Result;
+
+public class JsonBodyParser extends BodyParser.BufferingBodyParser<JsonBody>
+{
+    private final HttpErrorHandler errorHandler;
+
+    @Inject
+    public JsonBodyParser(HttpConfiguration httpConfiguration, HttpErrorHandler errorHandler)
+    {
+        super(httpConfiguration, errorHandler, "Error decoding json body");
+        this.errorHandler = errorHandler;
+    }
+
+    // Accepts the same content types as BodyParser.Json and refuses anything else before reading the body
+    @Override
+    public Accumulator<ByteString, F.Either<Result, JsonBody>> apply(Http.RequestHeader request)
+    {
+        boolean isJson = request.contentType().map(contentType -> "application/json".equalsIgnoreCase(contentType) || "text/json".equalsIgnoreCase(contentType)).orElse(false);
+        if(!isJson)
+        {
+            return Accumulator.done(this.errorHandler.onClientError(request, Http.Status.UNSUPPORTED_MEDIA_TYPE, "Expecting text/json or application/json body").thenApply(result -> F.Either.<Result, JsonBody>Left(result)));
+        }
+
+        return super.apply(request);
+    }
+
+    @Override
+    protected JsonBody parse(Http.RequestHeader request, ByteString bytes)
+    {
+        return new JsonBody(bytes);
+    }
+}
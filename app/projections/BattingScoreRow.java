@@ -0,0 +1,24 @@
+package projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BattingScoreRow
+{
+    public static final String SQL = "SELECT id, match_id, player_id, team_id, runs, balls, fours, sixes, mode_of_dismissal, bowler_id, innings_id, team_innings_id FROM batting_scores WHERE match_id = :matchId ORDER BY id ASC";
+
+    private final Long id;
+    private final Long matchId;
+    private final Long playerId;
+    private final Long teamId;
+    private final int runs;
+    private final int balls;
+    private final int fours;
+    private final int sixes;
+    private final Integer dismissalMode;
+    private final Long bowlerDismissalId;
+    private final int innings;
+    private final int teamInnings;
+}
@@ -0,0 +1,22 @@
+package projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BowlingFigureRow
+{
+    public static final String SQL = "SELECT id, match_id, player_id, team_id, balls, maidens, runs, wickets, innings_id, team_innings_id FROM bowling_figures WHERE match_id = :matchId ORDER BY id ASC";
+
+    private final Long id;
+    private final Long matchId;
+    private final Long playerId;
+    private final Long teamId;
+    private final int balls;
+    private final int maidens;
+    private final int runs;
+    private final int wickets;
+    private final int innings;
+    private final int teamInnings;
+}
@@ -0,0 +1,31 @@
+package projections;
+
+import enums.ExtrasType;
+import lombok.Getter;
+
+@Getter
+public class ExtrasRow
+{
+    public static final String SQL = "SELECT id, match_id, type, runs, batting_team, bowling_team, innings_id, team_innings_id FROM extras WHERE match_id = :matchId ORDER BY id ASC";
+
+    private final Long id;
+    private final Long matchId;
+    private final ExtrasType type;
+    private final int runs;
+    private final Long battingTeam;
+    private final Long bowlingTeam;
+    private final int innings;
+    private final int teamInnings;
+
+    public ExtrasRow(Long id, Long matchId, int type, int runs, Long battingTeam, Long bowlingTeam, int innings, int teamInnings)
+    {
+        this.id = id;
+        this.matchId = matchId;
+        this.type = ExtrasType.values()[type];
+        this.runs = runs;
+        this.battingTeam = battingTeam;
+        this.bowlingTeam = bowlingTeam;
+        this.innings = innings;
+        this.teamInnings = teamInnings;
+    }
+}
@@ -0,0 +1,16 @@
+package projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MatchPlayerRow
+{
+    public static final String SQL = "SELECT id, match_id, player_id, team_id FROM match_player_map WHERE match_id = :matchId ORDER BY id ASC";
+
+    private final Long id;
+    private final Long matchId;
+    private final Long playerId;
+    private final Long teamId;
+}
@@ -0,0 +1,17 @@
+package projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StadiumRow
+{
+    public static final String SQL = "SELECT id, name, city, state, country_id FROM stadiums ORDER BY name ASC";
+
+    private final Long id;
+    private final String name;
+    private final String city;
+    private final String state;
+    private final Long countryId;
+}
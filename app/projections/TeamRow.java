@@ -0,0 +1,23 @@
+package projections;
+
+import enums.TeamType;
+import lombok.Getter;
+
+@Getter
+public class TeamRow
+{
+    public static final String SQL = "SELECT id, name, country_id, team_type_id FROM teams";
+
+    private final Long id;
+    private final String name;
+    private final Long countryId;
+    private final TeamType teamType;
+
+    public TeamRow(Long id, String name, Long countryId, int teamType)
+    {
+        this.id = id;
+        this.name = name;
+        this.countryId = countryId;
+        this.teamType = TeamType.values()[teamType];
+    }
+}
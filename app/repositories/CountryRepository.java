@@ -1,10 +1,9 @@
 package repositories;
 
+import database.DatabaseRouter;
 import enums.ErrorCode;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
-import play.db.ebean.EbeanConfig;
 
 import models.Country;
 import java.util.List;
@@ -25,13 +24,13 @@ public class CountryRepository
 	@Inject
 	public CountryRepository
 	(
-		EbeanConfig ebeanConfig,
+		DatabaseRouter databaseRouter,
 		EbeanDynamicEvolutions ebeanDynamicEvolutions,
 		DatabaseExecutionContext databaseExecutionContext
 	)
 	{
 		this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-		this.db = Ebean.getServer(ebeanConfig.defaultServer());
+		this.db = databaseRouter.server();
 		this.databaseExecutionContext = databaseExecutionContext;
 	}
 
@@ -1,13 +1,12 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
 import enums.ErrorCode;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import models.DismissalMode;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
 
 public class DismissalRepository
@@ -19,13 +18,13 @@ public class DismissalRepository
     @Inject
     public DismissalRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
         DatabaseExecutionContext databaseExecutionContext
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
     }
 
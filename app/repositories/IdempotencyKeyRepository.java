@@ -0,0 +1,118 @@
+package repositories;
+
+import com.google.inject.Inject;
+import database.DatabaseRouter;
+import enums.ErrorCode;
+import exceptions.ConflictException;
+import exceptions.DBInteractionException;
+import io.ebean.DuplicateKeyException;
+import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
+import io.ebean.SqlUpdate;
+import models.IdempotencyKey;
+import modules.DatabaseExecutionContext;
+import play.db.ebean.EbeanDynamicEvolutions;
+
+public class IdempotencyKeyRepository
+{
+    private final EbeanServer db;
+    private final EbeanDynamicEvolutions ebeanDynamicEvolutions;
+    private final DatabaseExecutionContext databaseExecutionContext;
+
+    @Inject
+    public IdempotencyKeyRepository
+    (
+        DatabaseRouter databaseRouter,
+        EbeanDynamicEvolutions ebeanDynamicEvolutions,
+        DatabaseExecutionContext databaseExecutionContext
+    )
+    {
+        this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
+        this.db = databaseRouter.server();
+        this.databaseExecutionContext = databaseExecutionContext;
+    }
+
+    public IdempotencyKey get(String key)
+    {
+        IdempotencyKey idempotencyKey;
+
+        try
+        {
+            idempotencyKey = this.db.find(IdempotencyKey.class).where().eq("key", key).findOne();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return idempotencyKey;
+    }
+
+    public IdempotencyKey save(IdempotencyKey idempotencyKey)
+    {
+        try
+        {
+            this.db.insert(idempotencyKey);
+        }
+        catch(DuplicateKeyException ex)
+        {
+            throw new ConflictException(ErrorCode.ALREADY_EXISTS.getCode(), ErrorCode.ALREADY_EXISTS.getDescription());
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+        return idempotencyKey;
+    }
+
+    // Attaches the created entity to a claimed key; false when the claim is no longer pending
+    public boolean complete(String key, Long entityId)
+    {
+        try
+        {
+            SqlUpdate sqlUpdate = this.db.createSqlUpdate("UPDATE `idempotency_keys` SET `entity_id` = :entityId WHERE `idempotency_key` = :key AND `entity_id` IS NULL");
+            sqlUpdate.setParameter("entityId", entityId);
+            sqlUpdate.setParameter("key", key);
+            return (1 == sqlUpdate.execute());
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+    }
+
+    // Drops a claim that never completed; with createdAt set, only that particular claim
+    public void removePending(String key, Long createdAt)
+    {
+        try
+        {
+            ExpressionList<IdempotencyKey> pending = this.db.find(IdempotencyKey.class).where().eq("key", key).isNull("entityId");
+            if(null != createdAt)
+            {
+                pending.eq("createdAt", createdAt);
+            }
+            pending.delete();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+    }
+
+    public void remove(String operation, Long entityId)
+    {
+        try
+        {
+            this.db.find(IdempotencyKey.class).where().eq("operation", operation).eq("entityId", entityId).delete();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+    }
+}
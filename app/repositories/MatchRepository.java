@@ -1,16 +1,24 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
+import database.NamedQuery;
+import database.SqlExecutor;
 import enums.ErrorCode;
+import exceptions.ConflictException;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
+import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
-import io.ebean.SqlQuery;
-import io.ebean.SqlRow;
+import io.ebean.SqlUpdate;
 import models.*;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
+import projections.BattingScoreRow;
+import projections.BowlingFigureRow;
+import projections.ExtrasRow;
+import projections.MatchPlayerRow;
+
+import javax.persistence.OptimisticLockException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -19,21 +27,30 @@ import java.util.concurrent.CompletionStage;
 
 public class MatchRepository
 {
+    private static final String[] SCORING_ATTRIBUTE_UPDATES = {
+        "UPDATE batting_scores bs INNER JOIN matches m ON m.id = bs.match_id INNER JOIN series s ON s.id = m.series INNER JOIN teams t ON t.id = bs.team_id SET bs.game_type = s.game_type, bs.is_official = m.is_official, bs.team_type_id = t.team_type_id WHERE ",
+        "UPDATE bowling_figures bf INNER JOIN matches m ON m.id = bf.match_id INNER JOIN series s ON s.id = m.series INNER JOIN teams t ON t.id = bf.team_id SET bf.game_type = s.game_type, bf.is_official = m.is_official, bf.team_type_id = t.team_type_id WHERE ",
+        "UPDATE fielder_dismissals fd INNER JOIN batting_scores bs ON bs.id = fd.score_id INNER JOIN matches m ON m.id = bs.match_id INNER JOIN series s ON s.id = m.series INNER JOIN teams t ON t.id = fd.team_id SET fd.game_type = s.game_type, fd.is_official = m.is_official, fd.team_type_id = t.team_type_id WHERE "
+    };
+
     private final EbeanServer db;
     private final EbeanDynamicEvolutions ebeanDynamicEvolutions;
     private final DatabaseExecutionContext databaseExecutionContext;
+    private final SqlExecutor sqlExecutor;
 
     @Inject
     public MatchRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
-        DatabaseExecutionContext databaseExecutionContext
+        DatabaseExecutionContext databaseExecutionContext,
+        SqlExecutor sqlExecutor
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
+        this.sqlExecutor = sqlExecutor;
     }
 
     public Match get(Long id)
@@ -59,6 +76,14 @@ public class MatchRepository
         {
             this.db.save(match);
         }
+        catch(DuplicateKeyException ex)
+        {
+            throw new ConflictException(ErrorCode.ALREADY_EXISTS.getCode(), ErrorCode.ALREADY_EXISTS.getDescription());
+        }
+        catch(OptimisticLockException ex)
+        {
+            throw new ConflictException(ErrorCode.VERSION_CONFLICT.getCode(), String.format(ErrorCode.VERSION_CONFLICT.getDescription(), "Match"));
+        }
         catch(Exception ex)
         {
             String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
@@ -84,13 +109,13 @@ public class MatchRepository
         return success;
     }
 
-    public Match get(Long stadiumId, Long startTime)
+    public List<BattingScore> getBattingScores(Long matchId)
     {
-        Match match = null;
+        List<BattingScore> battingScores = new ArrayList<>();
 
         try
         {
-            match = this.db.find(Match.class).where().eq("stadium", stadiumId).eq("startTime", startTime).findOne();
+            battingScores = this.db.find(BattingScore.class).where().eq("matchId", matchId).orderBy("id ASC").findList();
         }
         catch(Exception ex)
         {
@@ -98,16 +123,16 @@ public class MatchRepository
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
         }
 
-        return match;
+        return battingScores;
     }
 
-    public List<BattingScore> getBattingScores(Long matchId)
+    public List<BattingScoreRow> getBattingScoreRows(Long matchId)
     {
-        List<BattingScore> battingScores = new ArrayList<>();
+        List<BattingScoreRow> battingScores;
 
         try
         {
-            battingScores = this.db.find(BattingScore.class).where().eq("matchId", matchId).orderBy("id ASC").findList();
+            battingScores = this.db.findDto(BattingScoreRow.class, BattingScoreRow.SQL).setParameter("matchId", matchId).findList();
         }
         catch(Exception ex)
         {
@@ -186,6 +211,23 @@ public class MatchRepository
         return bowlingFigures;
     }
 
+    public List<BowlingFigureRow> getBowlingFigureRows(Long matchId)
+    {
+        List<BowlingFigureRow> bowlingFigures;
+
+        try
+        {
+            bowlingFigures = this.db.findDto(BowlingFigureRow.class, BowlingFigureRow.SQL).setParameter("matchId", matchId).findList();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return bowlingFigures;
+    }
+
     public List<Extras> getExtras(Long matchId)
     {
         List<Extras> extras = new ArrayList<>();
@@ -203,6 +245,23 @@ public class MatchRepository
         return extras;
     }
 
+    public List<ExtrasRow> getExtrasRows(Long matchId)
+    {
+        List<ExtrasRow> extras;
+
+        try
+        {
+            extras = this.db.findDto(ExtrasRow.class, ExtrasRow.SQL).setParameter("matchId", matchId).findList();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return extras;
+    }
+
     public List<MatchPlayerMap> getPlayers(Long matchId)
     {
         List<MatchPlayerMap> players = new ArrayList<>();
@@ -220,6 +279,23 @@ public class MatchRepository
         return players;
     }
 
+    public List<MatchPlayerRow> getPlayerRows(Long matchId)
+    {
+        List<MatchPlayerRow> players;
+
+        try
+        {
+            players = this.db.findDto(MatchPlayerRow.class, MatchPlayerRow.SQL).setParameter("matchId", matchId).findList();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return players;
+    }
+
     public List<ManOfTheMatch> getManOfTheMatchList(Long matchId)
     {
         List<ManOfTheMatch> manOfTheMatchList = new ArrayList<>();
@@ -581,16 +657,37 @@ public class MatchRepository
 
     public Long getTeamIdForPlayerFromSeries(Long seriesId, Long playerId)
     {
-        Long teamId = null;
-        String query = "SELECT mpm.team_id as teamId FROM `match_player_map` mpm inner join matches m on m.id = mpm.match_id and m.series = " + seriesId + " and mpm.player_id = " + playerId + " limit 1";
-        SqlQuery sqlQuery = this.db.createSqlQuery(query);
-        List<SqlRow> result = sqlQuery.findList();
-        if(result.size() > 0)
+        try
+        {
+            return this.sqlExecutor.one(NamedQuery.TEAM_FOR_PLAYER_IN_SERIES, resultSet -> resultSet.getLong("teamId"), seriesId, playerId);
+        }
+        catch(Exception ex)
         {
-            SqlRow row = result.get(0);
-            teamId = row.getLong("teamId");
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
         }
+    }
 
-        return teamId;
+    public void refreshScoringAttributesForSeries(Long seriesId)
+    {
+        this.refreshScoringAttributes("m.series = :id", seriesId);
+    }
+
+    private void refreshScoringAttributes(String filter, Long id)
+    {
+        try
+        {
+            for(String update: SCORING_ATTRIBUTE_UPDATES)
+            {
+                SqlUpdate sqlUpdate = this.db.createSqlUpdate(update + filter);
+                sqlUpdate.setParameter("id", id);
+                sqlUpdate.execute();
+            }
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
     }
 }
@@ -0,0 +1,180 @@
+package repositories;
+
+import com.google.inject.Inject;
+import database.DatabaseRouter;
+import database.NamedQuery;
+import database.SqlExecutor;
+import enums.AggregateType;
+import enums.ChangeType;
+import enums.ErrorCode;
+import exceptions.DBInteractionException;
+import io.ebean.EbeanServer;
+import models.OutboxCheckpoint;
+import models.OutboxEvent;
+import modules.DatabaseExecutionContext;
+import play.db.ebean.EbeanDynamicEvolutions;
+import play.libs.Json;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class OutboxRepository
+{
+    private final EbeanServer db;
+    private final EbeanDynamicEvolutions ebeanDynamicEvolutions;
+    private final DatabaseExecutionContext databaseExecutionContext;
+    private final SqlExecutor sqlExecutor;
+
+    @Inject
+    public OutboxRepository
+    (
+        DatabaseRouter databaseRouter,
+        EbeanDynamicEvolutions ebeanDynamicEvolutions,
+        DatabaseExecutionContext databaseExecutionContext,
+        SqlExecutor sqlExecutor
+    )
+    {
+        this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
+        this.db = databaseRouter.server();
+        this.databaseExecutionContext = databaseExecutionContext;
+        this.sqlExecutor = sqlExecutor;
+    }
+
+    // Joins the caller's transaction, so the event commits or rolls back with the change it describes
+    public OutboxEvent add(AggregateType aggregateType, Long aggregateId, ChangeType changeType, Long aggregateVersion, Object snapshot)
+    {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setChangeType(changeType);
+        event.setAggregateVersion(aggregateVersion);
+        event.setPayload((null == snapshot) ? null : Json.stringify(Json.toJson(snapshot)));
+        event.setCreatedAt(System.currentTimeMillis());
+
+        try
+        {
+            this.db.insert(event);
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+        return event;
+    }
+
+    public List<OutboxEvent> getAfter(Long eventId, int count)
+    {
+        List<OutboxEvent> events = new ArrayList<>();
+
+        try
+        {
+            events = this.db.find(OutboxEvent.class).where().gt("id", eventId).orderBy("id").setMaxRows(count).findList();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return events;
+    }
+
+    public List<OutboxEvent> getByIds(Collection<Long> ids)
+    {
+        List<OutboxEvent> events = new ArrayList<>();
+
+        try
+        {
+            events = this.db.find(OutboxEvent.class).where().in("id", ids).orderBy("id").findList();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return events;
+    }
+
+    public Set<Long> getOpenTransactionIds()
+    {
+        Set<Long> transactionIds;
+
+        try
+        {
+            transactionIds = new HashSet<>(this.sqlExecutor.list(NamedQuery.OPEN_TRANSACTIONS, resultSet -> resultSet.getLong("id")));
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return transactionIds;
+    }
+
+    public Long getLastEventId()
+    {
+        Long lastEventId;
+
+        try
+        {
+            lastEventId = this.sqlExecutor.one(NamedQuery.OUTBOX_HEAD, resultSet -> resultSet.getLong("id"));
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return lastEventId;
+    }
+
+    public void removeDeliveredBefore(Long eventId, Long createdAt)
+    {
+        try
+        {
+            this.db.find(OutboxEvent.class).where().le("id", eventId).lt("createdAt", createdAt).delete();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+    }
+
+    public OutboxCheckpoint getCheckpoint(String consumer)
+    {
+        OutboxCheckpoint checkpoint;
+
+        try
+        {
+            checkpoint = this.db.find(OutboxCheckpoint.class).where().eq("consumer", consumer).findOne();
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+
+        return checkpoint;
+    }
+
+    public OutboxCheckpoint saveCheckpoint(OutboxCheckpoint checkpoint)
+    {
+        try
+        {
+            this.db.save(checkpoint);
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+        return checkpoint;
+    }
+}
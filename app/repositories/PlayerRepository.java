@@ -1,19 +1,24 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
+import database.NamedQuery;
+import database.SqlExecutor;
+import database.Workload;
 import enums.ErrorCode;
 import enums.GameType;
+import enums.WorkloadClass;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
-import io.ebean.SqlQuery;
-import io.ebean.SqlRow;
 import models.Player;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
+import responses.BattingStats;
+import responses.BowlingStats;
+import responses.FieldingStats;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,18 +32,21 @@ public class PlayerRepository
     private final EbeanServer db;
     private final EbeanDynamicEvolutions ebeanDynamicEvolutions;
     private final DatabaseExecutionContext databaseExecutionContext;
+    private final SqlExecutor sqlExecutor;
 
     @Inject
     public PlayerRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
-        DatabaseExecutionContext databaseExecutionContext
+        DatabaseExecutionContext databaseExecutionContext,
+        SqlExecutor sqlExecutor
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
+        this.sqlExecutor = sqlExecutor;
     }
 
     public Player get(Long id)
@@ -91,34 +99,17 @@ public class PlayerRepository
         return player;
     }
 
+    @Workload(WorkloadClass.ANALYTICS)
     public Map<GameType, Map<String, Integer>> getDismissalStats(Long playerId)
     {
-        Map<GameType, Map<String, Integer>> stats = new HashMap<>();
+        Map<GameType, Map<String, Integer>> stats = new EnumMap<>(GameType.class);
 
         try
         {
-            String query = "SELECT dm.name AS dismissalMode, COUNT(*) AS count, s.game_type as gameType FROM `batting_scores` bs INNER JOIN dismissal_modes dm ON bs.player_id = " + playerId + " AND bs.mode_of_dismissal IS NOT NULL and dm.id = bs.mode_of_dismissal and dm.name != 'Retired Hurt' inner join matches m on m.id = bs.match_id and m.is_official = 1 inner join series s on s.id = m.series inner join teams t on t.id = bs.team_id and t.team_type_id = 0 GROUP BY s.game_type, bs.mode_of_dismissal";
-            SqlQuery sqlQuery = this.db.createSqlQuery(query);
-            List<SqlRow> result = sqlQuery.findList();
-
-            for(SqlRow row: result)
-            {
-                Integer gameTypeId = row.getInteger("gameType");
-                GameType gameType = GameType.values()[gameTypeId];
-                if(stats.containsKey(gameType))
-                {
-                    stats.get(gameType).put(row.getString("dismissalMode"), row.getInteger("count"));
-                }
-                else
-                {
-                    Map<String, Integer> partStats = new HashMap<String, Integer>(){
-                        {
-                            put(row.getString("dismissalMode"), row.getInteger("count"));
-                        }
-                    };
-                    stats.put(gameType, partStats);
-                }
-            }
+            this.sqlExecutor.forEach(NamedQuery.PLAYER_DISMISSAL_STATS, resultSet -> {
+                GameType gameType = GameType.values()[resultSet.getInt("gameType")];
+                stats.computeIfAbsent(gameType, key -> new HashMap<>()).put(resultSet.getString("dismissalMode"), resultSet.getInt("count"));
+            }, playerId);
         }
         catch(Exception ex)
         {
@@ -129,40 +120,33 @@ public class PlayerRepository
         return stats;
     }
 
-    public Map<GameType, Map<String, Integer>> getBasicBattingStats(Long playerId)
+    @Workload(WorkloadClass.ANALYTICS)
+    public Map<GameType, BattingStats> getBattingStats(Long playerId)
     {
-        Map<GameType, Map<String, Integer>> statsFinal = new HashMap<>();
+        Map<GameType, BattingStats> stats = new EnumMap<>(GameType.class);
 
         try
         {
-            String query = "SELECT COUNT(*) AS innings, SUM(runs) AS runs, SUM(balls) AS balls, SUM(fours) AS fours, SUM(sixes) AS sixes, MAX(runs) AS highest, s.game_type as gameType, count(CASE WHEN (bs.runs >= 50 and bs.runs < 100) then 1 end) as fifties, count(CASE WHEN (bs.runs >= 100 and bs.runs < 200) then 1 end) as hundreds, count(CASE WHEN (bs.runs >= 200 and bs.runs < 300) then 1 end) as twoHundreds, count(CASE WHEN (bs.runs >= 300 and bs.runs < 400) then 1 end) as threeHundreds, count(CASE WHEN (bs.runs >= 400 and bs.runs < 500) then 1 end) as fourHundreds FROM `batting_scores` bs inner join matches m on player_id = " + playerId + " and m.id = bs.match_id and m.is_official = 1 inner join series s on s.id = m.series  inner join teams t on t.id = bs.team_id and t.team_type_id = 0 group by s.game_type";
-            SqlQuery sqlQuery = this.db.createSqlQuery(query);
-            List<SqlRow> result = sqlQuery.findList();
-
-            for(SqlRow row: result)
-            {
-                Integer gameTypeId = row.getInteger("gameType");
-                GameType gameType = GameType.values()[gameTypeId];
-                Integer innings = row.getInteger("innings");
+            this.sqlExecutor.forEach(NamedQuery.PLAYER_BATTING_STATS, resultSet -> {
+                int innings = resultSet.getInt("innings");
                 if(innings > 0)
                 {
-                    Map<String, Integer> stats = new HashMap<>();
-
-                    stats.put("innings", innings);
-                    stats.put("runs", row.getInteger("runs"));
-                    stats.put("balls", row.getInteger("balls"));
-                    stats.put("fours", row.getInteger("fours"));
-                    stats.put("sixes", row.getInteger("sixes"));
-                    stats.put("highest", row.getInteger("highest"));
-                    stats.put("fifties", row.getInteger("fifties"));
-                    stats.put("hundreds", row.getInteger("hundreds"));
-                    stats.put("twoHundreds", row.getInteger("twoHundreds"));
-                    stats.put("threeHundreds", row.getInteger("threeHundreds"));
-                    stats.put("fourHundreds", row.getInteger("fourHundreds"));
-
-                    statsFinal.put(gameType, stats);
+                    BattingStats battingStats = new BattingStats();
+                    battingStats.setInnings(innings);
+                    battingStats.setRuns(resultSet.getInt("runs"));
+                    battingStats.setBalls(resultSet.getInt("balls"));
+                    battingStats.setFours(resultSet.getInt("fours"));
+                    battingStats.setSixes(resultSet.getInt("sixes"));
+                    battingStats.setHighest(resultSet.getInt("highest"));
+                    battingStats.setFifties(resultSet.getInt("fifties"));
+                    battingStats.setHundreds(resultSet.getInt("hundreds"));
+                    battingStats.setTwoHundreds(resultSet.getInt("twoHundreds"));
+                    battingStats.setThreeHundreds(resultSet.getInt("threeHundreds"));
+                    battingStats.setFourHundreds(resultSet.getInt("fourHundreds"));
+
+                    stats.put(GameType.values()[resultSet.getInt("gameType")], battingStats);
                 }
-            }
+            }, playerId);
         }
         catch(Exception ex)
         {
@@ -170,36 +154,34 @@ public class PlayerRepository
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
         }
 
-        return statsFinal;
+        return stats;
     }
 
-    public Map<GameType, Map<String, Integer>> getFieldingStats(Long playerId)
+    @Workload(WorkloadClass.ANALYTICS)
+    public Map<GameType, FieldingStats> getFieldingStats(Long playerId)
     {
-        Map<GameType, Map<String, Integer>> statsFinal = new HashMap<>();
+        Map<GameType, FieldingStats> stats = new EnumMap<>(GameType.class);
 
         try
         {
-            String query = "select dm.name as dismissalMode, count(*) as count, s.game_type as gameType from fielder_dismissals fd inner join batting_scores bs on bs.id = fd.score_id and fd.player_id = " + playerId + " inner join dismissal_modes dm on dm.id = bs.mode_of_dismissal inner join matches m on m.id = bs.match_id and m.is_official = 1 inner join series s on s.id = m.series inner join teams t on t.id = fd.team_id and t.team_type_id = 0 group by s.game_type, bs.mode_of_dismissal";
-            SqlQuery sqlQuery = this.db.createSqlQuery(query);
-            List<SqlRow> result = sqlQuery.findList();
-
-            for(SqlRow row: result)
-            {
-                Integer gameTypeId = row.getInteger("gameType");
-                GameType gameType = GameType.values()[gameTypeId];
-                if(statsFinal.containsKey(gameType))
-                {
-                    statsFinal.get(gameType).put(row.getString("dismissalMode"), row.getInteger("count"));
-                }
-                else
+            this.sqlExecutor.forEach(NamedQuery.PLAYER_FIELDING_STATS, resultSet -> {
+                FieldingStats fieldingStats = stats.computeIfAbsent(GameType.values()[resultSet.getInt("gameType")], key -> new FieldingStats());
+                int count = resultSet.getInt("count");
+                switch(resultSet.getString("dismissalMode"))
                 {
-                    statsFinal.put(gameType, new HashMap<String, Integer>(){
-                        {
-                            put(row.getString("dismissalMode"), row.getInteger("count"));
-                        }
-                    });
+                    case "Caught":
+                        fieldingStats.setCatches(count);
+                        break;
+                    case "Run Out":
+                        fieldingStats.setRunOuts(count);
+                        break;
+                    case "Stumped":
+                        fieldingStats.setStumpings(count);
+                        break;
+                    default:
+                        break;
                 }
-            }
+            }, playerId);
         }
         catch(Exception ex)
         {
@@ -207,39 +189,32 @@ public class PlayerRepository
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
         }
 
-        return statsFinal;
+        return stats;
     }
 
-    public Map<GameType, Map<String, Integer>> getBasicBowlingStats(Long playerId)
+    @Workload(WorkloadClass.ANALYTICS)
+    public Map<GameType, BowlingStats> getBowlingStats(Long playerId)
     {
-        Map<GameType, Map<String, Integer>> statsFinal = new HashMap<>();
+        Map<GameType, BowlingStats> stats = new EnumMap<>(GameType.class);
 
         try
         {
-            String query = "SELECT COUNT(*) AS innings, SUM(balls) AS balls, SUM(maidens) AS maidens, SUM(runs) AS runs, SUM(wickets) AS wickets, s.game_type AS gameType, COUNT(CASE WHEN (bf.wickets >= 5 and bf.wickets < 10) then 1 end) as fifers,  COUNT(CASE WHEN (bf.wickets = 10) then 1 end) as tenWickets FROM bowling_figures bf INNER JOIN matches m ON bf.player_id = " + playerId + " and m.id = bf.match_id INNER JOIN series s ON s.id = m.series and m.is_official = 1 inner join teams t on t.id = bf.team_id and t.team_type_id = 0 GROUP BY s.game_type";
-            SqlQuery sqlQuery = this.db.createSqlQuery(query);
-            List<SqlRow> result = sqlQuery.findList();
-
-            for(SqlRow row: result)
-            {
-                Integer gameTypeId = row.getInteger("gameType");
-                GameType gameType = GameType.values()[gameTypeId];
-                Integer innings = row.getInteger("innings");
+            this.sqlExecutor.forEach(NamedQuery.PLAYER_BOWLING_STATS, resultSet -> {
+                int innings = resultSet.getInt("innings");
                 if(innings > 0)
                 {
-                    Map<String, Integer> stats = new HashMap<>();
-
-                    stats.put("innings", innings);
-                    stats.put("runs", row.getInteger("runs"));
-                    stats.put("balls", row.getInteger("balls"));
-                    stats.put("maidens", row.getInteger("maidens"));
-                    stats.put("wickets", row.getInteger("wickets"));
-                    stats.put("fifers", row.getInteger("fifers"));
-                    stats.put("tenWickets", row.getInteger("tenWickets"));
-
-                    statsFinal.put(gameType, stats);
+                    BowlingStats bowlingStats = new BowlingStats();
+                    bowlingStats.setInnings(innings);
+                    bowlingStats.setRuns(resultSet.getInt("runs"));
+                    bowlingStats.setBalls(resultSet.getInt("balls"));
+                    bowlingStats.setMaidens(resultSet.getInt("maidens"));
+                    bowlingStats.setWickets(resultSet.getInt("wickets"));
+                    bowlingStats.setFifers(resultSet.getInt("fifers"));
+                    bowlingStats.setTenWickets(resultSet.getInt("tenWickets"));
+
+                    stats.put(GameType.values()[resultSet.getInt("gameType")], bowlingStats);
                 }
-            }
+            }, playerId);
         }
         catch(Exception ex)
         {
@@ -247,7 +222,7 @@ public class PlayerRepository
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
         }
 
-        return statsFinal;
+        return stats;
     }
 
     public Player save(Player player)
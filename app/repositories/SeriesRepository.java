@@ -1,18 +1,20 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
 import enums.ErrorCode;
 import enums.GameType;
+import exceptions.ConflictException;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import models.ManOfTheSeries;
 import models.Series;
 import models.SeriesTeamsMap;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
 
+import javax.persistence.OptimisticLockException;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -27,13 +29,13 @@ public class SeriesRepository
     @Inject
     public SeriesRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
         DatabaseExecutionContext databaseExecutionContext
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
     }
 
@@ -109,6 +111,10 @@ public class SeriesRepository
         {
             this.db.save(series);
         }
+        catch(OptimisticLockException ex)
+        {
+            throw new ConflictException(ErrorCode.VERSION_CONFLICT.getCode(), String.format(ErrorCode.VERSION_CONFLICT.getDescription(), "Series"));
+        }
         catch(Exception ex)
         {
             String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
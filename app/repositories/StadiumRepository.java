@@ -1,14 +1,14 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
 import enums.ErrorCode;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import models.Stadium;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
+import projections.StadiumRow;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -23,24 +23,24 @@ public class StadiumRepository
     @Inject
     public StadiumRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
         DatabaseExecutionContext databaseExecutionContext
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
     }
 
-    public CompletionStage<List<Stadium>> getAll()
+    public CompletionStage<List<StadiumRow>> getAll()
     {
         return CompletableFuture.supplyAsync(() -> {
-            List<Stadium> stadiums;
+            List<StadiumRow> stadiums;
 
             try
             {
-                stadiums = this.db.find(Stadium.class).orderBy("name ASC").findList();
+                stadiums = this.db.findDto(StadiumRow.class, StadiumRow.SQL).findList();
             }
             catch(Exception ex)
             {
@@ -1,14 +1,16 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
 import enums.ErrorCode;
+import enums.TeamType;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
+import io.ebean.SqlUpdate;
 import models.Team;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
+import projections.TeamRow;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -23,24 +25,24 @@ public class TeamRepository
     @Inject
     public TeamRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
         DatabaseExecutionContext databaseExecutionContext
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
     }
 
-    public CompletionStage<List<Team>> getAll()
+    public CompletionStage<List<TeamRow>> getAll()
     {
         return CompletableFuture.supplyAsync(() -> {
-            List<Team> teams;
+            List<TeamRow> teams;
 
             try
             {
-                teams = this.db.find(Team.class).findList();
+                teams = this.db.findDto(TeamRow.class, TeamRow.SQL).findList();
             }
             catch(Exception ex)
             {
@@ -134,4 +136,23 @@ public class TeamRepository
 
         return team;
     }
+
+    public void updateScoringTeamType(Long teamId, TeamType teamType)
+    {
+        try
+        {
+            for(String table: new String[]{"batting_scores", "bowling_figures", "fielder_dismissals"})
+            {
+                SqlUpdate sqlUpdate = this.db.createSqlUpdate("UPDATE " + table + " SET team_type_id = :teamType WHERE team_id = :teamId");
+                sqlUpdate.setParameter("teamType", teamType.getValue());
+                sqlUpdate.setParameter("teamId", teamId);
+                sqlUpdate.execute();
+            }
+        }
+        catch(Exception ex)
+        {
+            String message = ErrorCode.DB_INTERACTION_FAILED.getDescription() + ". Exception: " + ex;
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
+        }
+    }
 }
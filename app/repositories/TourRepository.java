@@ -1,39 +1,42 @@
 package repositories;
 
 import com.google.inject.Inject;
+import database.DatabaseRouter;
+import database.NamedQuery;
+import database.SqlExecutor;
+import database.Workload;
 import enums.ErrorCode;
+import enums.WorkloadClass;
 import exceptions.DBInteractionException;
-import io.ebean.Ebean;
 import io.ebean.EbeanServer;
-import io.ebean.SqlQuery;
-import io.ebean.SqlRow;
 import models.Tour;
 import modules.DatabaseExecutionContext;
-import play.db.ebean.EbeanConfig;
 import play.db.ebean.EbeanDynamicEvolutions;
 
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TourRepository
 {
     private final EbeanServer db;
     private final EbeanDynamicEvolutions ebeanDynamicEvolutions;
     private final DatabaseExecutionContext databaseExecutionContext;
+    private final SqlExecutor sqlExecutor;
 
     @Inject
     public TourRepository
     (
-        EbeanConfig ebeanConfig,
+        DatabaseRouter databaseRouter,
         EbeanDynamicEvolutions ebeanDynamicEvolutions,
-        DatabaseExecutionContext databaseExecutionContext
+        DatabaseExecutionContext databaseExecutionContext,
+        SqlExecutor sqlExecutor
     )
     {
         this.ebeanDynamicEvolutions = ebeanDynamicEvolutions;
-        this.db = Ebean.getServer(ebeanConfig.defaultServer());
+        this.db = databaseRouter.server();
         this.databaseExecutionContext = databaseExecutionContext;
+        this.sqlExecutor = sqlExecutor;
     }
 
     public Tour get(Long id)
@@ -90,24 +93,10 @@ public class TourRepository
 
         try
         {
-            Calendar calendar = Calendar.getInstance();
-
-            calendar.set(Calendar.YEAR, year);
-            calendar.set(Calendar.DAY_OF_YEAR, 1);
-            calendar.set(Calendar.HOUR_OF_DAY, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MILLISECOND, 0);
-            Date startTime = calendar.getTime();
-
-            calendar.set(Calendar.YEAR, year + 1);
-            Date endTime = calendar.getTime();
-
             tours = this.db.find(Tour.class)
                     .setDisableLazyLoading(true)
                     .where()
-                    .ge("startTime", startTime.getTime())
-                    .lt("startTime", endTime.getTime())
+                    .eq("year", year)
                     .setMaxRows(count)
                     .setFirstRow(offset)
                     .order("startTime DESC")
@@ -122,21 +111,14 @@ public class TourRepository
         return tours;
     }
 
-    public List<Integer> getYears()
+    @Workload(WorkloadClass.ANALYTICS)
+    public Map<Integer, Integer> getYearCounts()
     {
-        List<Integer> years = new ArrayList<>();
+        Map<Integer, Integer> yearCounts = new LinkedHashMap<>();
 
         try
         {
-            String query = "SELECT DISTINCT DATE_FORMAT(DATE_ADD(FROM_UNIXTIME(0), INTERVAL start_time / 1000 SECOND), '%Y') AS year FROM `tours` ORDER BY `year` DESC";
-            SqlQuery sqlQuery = this.db.createSqlQuery(query);
-            List<SqlRow> result = sqlQuery.findList();
-
-            for(SqlRow row: result)
-            {
-                Integer year = row.getInteger("year");
-                years.add(year);
-            }
+            this.sqlExecutor.forEach(NamedQuery.TOUR_YEAR_COUNTS, resultSet -> yearCounts.put(resultSet.getInt("year"), resultSet.getInt("count")));
         }
         catch(Exception ex)
         {
@@ -144,6 +126,6 @@ public class TourRepository
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), message);
         }
 
-        return years;
+        return yearCounts;
     }
 }
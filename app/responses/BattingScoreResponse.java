@@ -2,9 +2,9 @@ package responses;
 
 import lombok.Getter;
 import lombok.Setter;
-import models.BattingScore;
 import models.BowlerDismissal;
 import models.FielderDismissal;
+import projections.BattingScoreRow;
 
 import javax.persistence.Column;
 import java.util.ArrayList;
@@ -29,7 +29,7 @@ public class BattingScoreResponse
     private int teamInnings;
     private List<FielderDismissal> fielders = new ArrayList<>();
 
-    public BattingScoreResponse(BattingScore battingScore)
+    public BattingScoreResponse(BattingScoreRow battingScore)
     {
         this.id = battingScore.getId();
         this.matchId = battingScore.getMatchId();
@@ -5,6 +5,9 @@ import enums.WinMarginType;
 import lombok.Getter;
 import lombok.Setter;
 import models.*;
+import projections.BowlingFigureRow;
+import projections.ExtrasRow;
+import projections.MatchPlayerRow;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -26,10 +29,11 @@ public class MatchResponse
     private Long stadiumId;
     private Long startTime;
     private String tag;
+    private Long version;
     private List<BattingScoreResponse> battingScores = new ArrayList<>();
-    private List<BowlingFigure> bowlingFigures = new ArrayList<>();
-    private List<Extras> extras = new ArrayList<>();
-    private List<MatchPlayerMap> players = new ArrayList<>();
+    private List<BowlingFigureRow> bowlingFigures = new ArrayList<>();
+    private List<ExtrasRow> extras = new ArrayList<>();
+    private List<MatchPlayerRow> players = new ArrayList<>();
     private List<ManOfTheMatch> manOfTheMatchList = new ArrayList<>();
     private List<Captain> captains = new ArrayList<>();
     private List<WicketKeeper> wicketKeepers = new ArrayList<>();
@@ -49,5 +53,6 @@ public class MatchResponse
         this.stadiumId = match.getStadium();
         this.startTime = match.getStartTime();
         this.tag = match.getTag();
+        this.version = match.getVersion();
     }
 }
@@ -7,7 +7,7 @@ import models.Country;
 import models.Player;
 
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 @Getter
@@ -19,10 +19,10 @@ public class PlayerResponse
     private Country country;
     private Long dateOfBirth;
     private String image;
-    private Map<GameType, Map<String, Integer>> dismissalStats = new HashMap<>();
-    private Map<GameType, BattingStats> battingStats = new HashMap<>();
-    private Map<GameType, FieldingStats> fieldingStats = new HashMap<>();
-    private Map<GameType, BowlingStats> bowlingStats = new HashMap<>();
+    private Map<GameType, Map<String, Integer>> dismissalStats = new EnumMap<>(GameType.class);
+    private Map<GameType, BattingStats> battingStats = new EnumMap<>(GameType.class);
+    private Map<GameType, FieldingStats> fieldingStats = new EnumMap<>(GameType.class);
+    private Map<GameType, BowlingStats> bowlingStats = new EnumMap<>(GameType.class);
 
     public PlayerResponse(Player player)
     {
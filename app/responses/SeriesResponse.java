@@ -27,6 +27,7 @@ public class SeriesResponse
     private SeriesType type;
     private GameType gameType;
     private Long startTime;
+    private Long version;
     private List<Team> teams = new ArrayList<>();
     private List<ManOfTheSeriesResponse> manOfTheSeriesList = new ArrayList<>();
     List<Match> matches = new ArrayList<>();
@@ -39,5 +40,6 @@ public class SeriesResponse
         this.type = series.getType();
         this.gameType = series.getGameType();
         this.startTime = series.getStartTime();
+        this.version = series.getVersion();
     }
 }
@@ -5,14 +5,15 @@ import requests.matches.CreateRequest;
 import requests.matches.UpdateRequest;
 import responses.MatchResponse;
 
+import java.util.Set;
 
 public interface MatchService
 {
     MatchResponse get(Long id);
 
-    Match create(CreateRequest createRequest);
+    Match create(CreateRequest createRequest, String idempotencyKey);
 
-    Match update(Long id, UpdateRequest updateRequest);
+    Match update(Long id, UpdateRequest updateRequest, Set<Long> expectedVersions);
 
     boolean delete(Long id);
 }
@@ -6,6 +6,7 @@ import requests.series.UpdateRequest;
 import responses.SeriesResponse;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletionStage;
 
 public interface SeriesService
@@ -18,7 +19,7 @@ public interface SeriesService
 
     Series create(CreateRequest createRequest);
 
-    Series update(Long id, UpdateRequest updateRequest);
+    Series update(Long id, UpdateRequest updateRequest, Set<Long> expectedVersions);
 
     List<Series> getSeriesForTour(Long tourId);
 }
@@ -1,6 +1,7 @@
 package services;
 
 import models.Stadium;
+import projections.StadiumRow;
 import requests.stadiums.CreateRequest;
 import requests.stadiums.UpdateRequest;
 import responses.StadiumResponse;
@@ -10,7 +11,7 @@ import java.util.concurrent.CompletionStage;
 
 public interface StadiumService
 {
-    CompletionStage<List<Stadium>> getAll();
+    CompletionStage<List<StadiumRow>> getAll();
 
     Stadium create(CreateRequest createRequest);
 
@@ -1,6 +1,7 @@
 package services;
 
 import models.Team;
+import projections.TeamRow;
 import requests.teams.CreateRequest;
 import requests.teams.UpdateRequest;
 import responses.TeamResponse;
@@ -10,7 +11,7 @@ import java.util.concurrent.CompletionStage;
 
 public interface TeamService
 {
-    CompletionStage<List<Team>> getAll();
+    CompletionStage<List<TeamRow>> getAll();
 
     TeamResponse get(Long id);
 
@@ -7,6 +7,7 @@ import requests.tours.UpdateRequest;
 import responses.TourResponse;
 
 import java.util.List;
+import java.util.Map;
 
 public interface TourService
 {
@@ -19,4 +20,6 @@ public interface TourService
     List<Tour> filter(FilterRequest filterRequest);
 
     List<Integer> getYears();
+
+    Map<Integer, Integer> getYearCounts();
 }
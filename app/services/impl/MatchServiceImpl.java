@@ -1,15 +1,23 @@
 package services.impl;
 
 import com.google.inject.Inject;
+import database.MatchCache;
+import database.ReadConsistency;
+import database.TransactionEvent;
+import enums.AggregateType;
+import enums.ChangeType;
 import enums.ErrorCode;
 import enums.ExtrasType;
 import exceptions.BadRequestException;
+import exceptions.ConflictException;
 import exceptions.DBInteractionException;
 import exceptions.NotFoundException;
+import exceptions.PreconditionFailedException;
 import io.ebean.Ebean;
 import io.ebean.Transaction;
 import models.*;
 import org.springframework.util.StringUtils;
+import play.libs.Json;
 import repositories.*;
 import requests.matches.CreateRequest;
 import requests.matches.UpdateRequest;
@@ -17,14 +25,24 @@ import responses.BattingScoreResponse;
 import responses.MatchResponse;
 import services.MatchService;
 import services.TeamService;
+import utils.SingleFlight;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class MatchServiceImpl implements MatchService
 {
+    private static final String CREATE_OPERATION = "MatchService.create";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+    private static final long PENDING_KEY_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+
     private final DismissalRepository dismissalRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
     private final MatchRepository matchRepository;
+    private final OutboxRepository outboxRepository;
     private final PlayerRepository playerRepository;
     private final SeriesRepository seriesRepository;
     private final StadiumRepository stadiumRepository;
@@ -32,35 +50,48 @@ public class MatchServiceImpl implements MatchService
 
     private final TeamService teamService;
 
+    private final MatchCache matchCache;
+
+    private final SingleFlight<Long, MatchResponse> matchResponseFlight = new SingleFlight<>();
+    private final SingleFlight<Long, MatchResponse> primaryMatchResponseFlight = new SingleFlight<>();
+
     @Inject
     public MatchServiceImpl
     (
         DismissalRepository dismissalRepository,
+        IdempotencyKeyRepository idempotencyKeyRepository,
         MatchRepository matchRepository,
+        OutboxRepository outboxRepository,
         PlayerRepository playerRepository,
         SeriesRepository seriesRepository,
         StadiumRepository stadiumRepository,
         TeamRepository teamRepository,
 
-        TeamService teamService
+        TeamService teamService,
+
+        MatchCache matchCache
     )
     {
         this.dismissalRepository = dismissalRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
         this.matchRepository = matchRepository;
+        this.outboxRepository = outboxRepository;
         this.playerRepository = playerRepository;
         this.seriesRepository = seriesRepository;
         this.stadiumRepository = stadiumRepository;
         this.teamRepository = teamRepository;
 
         this.teamService = teamService;
+
+        this.matchCache = matchCache;
     }
 
     public MatchResponse matchResponse(Match match)
     {
         MatchResponse matchResponse = new MatchResponse(match);
-        List<BattingScoreResponse> battingScoreResponses = this.matchRepository.getBattingScores(match.getId()).stream().map(BattingScoreResponse::new).collect(Collectors.toList());
+        List<BattingScoreResponse> battingScoreResponses = this.matchCache.get(MatchCache.Entity.BATTING_SCORES, match.getId(), () -> this.matchRepository.getBattingScoreRows(match.getId())).stream().map(BattingScoreResponse::new).collect(Collectors.toList());
         List<Long> bowlerDismissalIds = battingScoreResponses.stream().filter(battingScoreResponse -> battingScoreResponse.getBowlerDismissalId() != null).map(BattingScoreResponse::getBowlerDismissalId).collect(Collectors.toList());
-        List<BowlerDismissal> bowlerDismissals = this.matchRepository.getBowlingDismissals(bowlerDismissalIds);
+        List<BowlerDismissal> bowlerDismissals = this.matchCache.get(MatchCache.Entity.BOWLER_DISMISSALS, match.getId(), () -> this.matchRepository.getBowlingDismissals(bowlerDismissalIds));
         Map<Long, BowlerDismissal> bowlerDismissalMap = bowlerDismissals.stream().collect(Collectors.toMap(BowlerDismissal::getId, bowlerDismissal -> bowlerDismissal));
         battingScoreResponses = battingScoreResponses.stream().peek(battingScoreResponse -> {
             if((battingScoreResponse.getBowlerDismissalId() != null) && bowlerDismissalMap.containsKey(battingScoreResponse.getBowlerDismissalId()))
@@ -70,7 +101,7 @@ public class MatchServiceImpl implements MatchService
         }).collect(Collectors.toList());
 
         List<Long> scoreIds = battingScoreResponses.stream().map(BattingScoreResponse::getId).collect(Collectors.toList());
-        List<FielderDismissal> fielderDismissals = this.matchRepository.getFielderDismissals(scoreIds);
+        List<FielderDismissal> fielderDismissals = this.matchCache.get(MatchCache.Entity.FIELDER_DISMISSALS, match.getId(), () -> this.matchRepository.getFielderDismissals(scoreIds));
         Map<Long, List<FielderDismissal>> fielderDismissalMap = new HashMap<>();
         fielderDismissals.forEach(fielderDismissal -> {
             List<FielderDismissal> dismissals = new ArrayList<>();
@@ -90,17 +121,23 @@ public class MatchServiceImpl implements MatchService
 
         matchResponse.setBattingScores(battingScoreResponses);
 
-        matchResponse.setBowlingFigures(this.matchRepository.getBowlingFigures(matchResponse.getId()));
-        matchResponse.setExtras(this.matchRepository.getExtras(matchResponse.getId()));
-        matchResponse.setPlayers(this.matchRepository.getPlayers(matchResponse.getId()));
-        matchResponse.setManOfTheMatchList(this.matchRepository.getManOfTheMatchList(match.getId()));
-        matchResponse.setCaptains(this.matchRepository.getCaptainsForMatch(match.getId()));
-        matchResponse.setWicketKeepers(this.matchRepository.getWicketKeepersForMatch(match.getId()));
+        matchResponse.setBowlingFigures(this.matchCache.get(MatchCache.Entity.BOWLING_FIGURES, match.getId(), () -> this.matchRepository.getBowlingFigureRows(match.getId())));
+        matchResponse.setExtras(this.matchCache.get(MatchCache.Entity.EXTRAS, match.getId(), () -> this.matchRepository.getExtrasRows(match.getId())));
+        matchResponse.setPlayers(this.matchCache.get(MatchCache.Entity.PLAYERS, match.getId(), () -> this.matchRepository.getPlayerRows(match.getId())));
+        matchResponse.setManOfTheMatchList(this.matchCache.get(MatchCache.Entity.MAN_OF_THE_MATCH, match.getId(), () -> this.matchRepository.getManOfTheMatchList(match.getId())));
+        matchResponse.setCaptains(this.matchCache.get(MatchCache.Entity.CAPTAINS, match.getId(), () -> this.matchRepository.getCaptainsForMatch(match.getId())));
+        matchResponse.setWicketKeepers(this.matchCache.get(MatchCache.Entity.WICKET_KEEPERS, match.getId(), () -> this.matchRepository.getWicketKeepersForMatch(match.getId())));
 
         return matchResponse;
     }
 
     public MatchResponse get(Long id)
+    {
+        SingleFlight<Long, MatchResponse> flight = ReadConsistency.current().isPrimary() ? this.primaryMatchResponseFlight : this.matchResponseFlight;
+        return flight.execute(id, () -> this.load(id));
+    }
+
+    private MatchResponse load(Long id)
     {
         Match match = this.matchRepository.get(id);
         if(null == match)
@@ -111,16 +148,39 @@ public class MatchServiceImpl implements MatchService
         return matchResponse(match);
     }
 
-    public Match create(CreateRequest createRequest)
+    public Match create(CreateRequest createRequest, String idempotencyKey)
     {
         createRequest.validate();
 
-        Match existingMatch = this.matchRepository.get(createRequest.getStadium(), createRequest.getStartTime());
-        if(null != existingMatch)
+        if(null == idempotencyKey)
+        {
+            return this.insert(createRequest, null);
+        }
+
+        if(idempotencyKey.isEmpty() || (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH))
+        {
+            throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
+        }
+
+        Match replayedMatch = this.claim(idempotencyKey, requestHash(createRequest));
+        if(null != replayedMatch)
+        {
+            return replayedMatch;
+        }
+
+        try
+        {
+            return this.insert(createRequest, idempotencyKey);
+        }
+        catch(RuntimeException ex)
         {
-            throw new BadRequestException(ErrorCode.ALREADY_EXISTS.getCode(), ErrorCode.ALREADY_EXISTS.getDescription());
+            this.release(idempotencyKey, null);
+            throw ex;
         }
+    }
 
+    private Match insert(CreateRequest createRequest, String idempotencyKey)
+    {
         Match match = new Match();
 
         match.setOfficial(createRequest.isOfficial());
@@ -189,9 +249,11 @@ public class MatchServiceImpl implements MatchService
 
         }
 
+        TransactionEvent transactionEvent = TransactionEvent.start("MatchService.create");
         Transaction transaction = Ebean.beginTransaction();
         try
         {
+            // uk_m_stadium_start rejects a duplicate here, before any scorecard rows are written
             Match createdMatch = this.matchRepository.save(match);
 
             Map<Long, Player> playerIdPlayerMap = new HashMap<>();
@@ -293,6 +355,9 @@ public class MatchServiceImpl implements MatchService
                     throw new NotFoundException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Bowler's Team"));
                 }
                 bowlingFigure.setTeamId(team.getId());
+                bowlingFigure.setGameType(series.getGameType());
+                bowlingFigure.setOfficial(createdMatch.isOfficial());
+                bowlingFigure.setTeamType(team.getTeamType());
 
                 bowlingFigure.setBalls(Integer.parseInt(bowlingFigureRaw.get("balls")));
                 bowlingFigure.setMaidens(Integer.parseInt(bowlingFigureRaw.get("maidens")));
@@ -347,6 +412,9 @@ public class MatchServiceImpl implements MatchService
                 Long battingTeamId = playerIdTeamMap.get(Long.parseLong(battingScoreRaw.get("playerId"))).getId();
                 Long bowlingTeamId = ((battingTeamId.equals(createRequest.getTeam1())) ? createRequest.getTeam2() : createRequest.getTeam1());
                 battingScore.setTeamId(battingTeamId);
+                battingScore.setGameType(series.getGameType());
+                battingScore.setOfficial(createdMatch.isOfficial());
+                battingScore.setTeamType(playerIdTeamMap.get(Long.parseLong(battingScoreRaw.get("playerId"))).getTeamType());
                 battingScore.setRuns(Integer.parseInt(battingScoreRaw.get("runs")));
                 battingScore.setBalls(Integer.parseInt(battingScoreRaw.get("balls")));
                 battingScore.setFours(Integer.parseInt(battingScoreRaw.get("fours")));
@@ -378,6 +446,9 @@ public class MatchServiceImpl implements MatchService
                         fielderDismissal.setScoreId(battingScore.getId());
                         fielderDismissal.setPlayerId(fielderId);
                         fielderDismissal.setTeamId(bowlingTeamId);
+                        fielderDismissal.setGameType(series.getGameType());
+                        fielderDismissal.setOfficial(createdMatch.isOfficial());
+                        fielderDismissal.setTeamType((bowlingTeamId.equals(team1.getId()) ? team1 : team2).getTeamType());
 
                         fielders.add(fielderDismissal);
                     }
@@ -424,20 +495,116 @@ public class MatchServiceImpl implements MatchService
             }
             this.matchRepository.addWicketKeepersForMatch(wicketKeepers);
 
+            // The claimed key row is only locked from here to the commit
+            if((null != idempotencyKey) && !this.idempotencyKeyRepository.complete(idempotencyKey, createdMatch.getId()))
+            {
+                throw new ConflictException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS.getCode(), ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS.getDescription());
+            }
+
+            // Written last so the event id is taken as close to the commit as possible
+            this.outboxRepository.add(AggregateType.MATCH, createdMatch.getId(), ChangeType.CREATED, createdMatch.getVersion(), createdMatch);
+
             transaction.commit();
             transaction.end();
+            transactionEvent.finish(createdMatch.getId(), true);
             return createdMatch;
         }
+        catch(ConflictException ex)
+        {
+            transaction.rollback();
+            transaction.end();
+            transactionEvent.finish(null, false);
+            throw ex;
+        }
         catch(Exception ex)
         {
             transaction.rollback();
             transaction.end();
+            transactionEvent.finish(null, false);
             throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
         }
     }
 
+    // Claims the key with a pending row (no entity id) in its own short write, so a retry of the same request finds it
+    // straight away instead of waiting on the create's locks; a pending row left behind by a crashed create is taken over
+    // after PENDING_KEY_TIMEOUT_MILLIS
+    private Match claim(String idempotencyKey, String requestHash)
+    {
+        for(int attempt = 0; attempt < 2; attempt++)
+        {
+            IdempotencyKey key = new IdempotencyKey();
+            key.setKey(idempotencyKey);
+            key.setOperation(CREATE_OPERATION);
+            key.setRequestHash(requestHash);
+            key.setCreatedAt(System.currentTimeMillis());
+            try
+            {
+                this.idempotencyKeyRepository.save(key);
+                return null;
+            }
+            catch(ConflictException ex)
+            {
+                // Claimed by an earlier request, checked below
+            }
+
+            IdempotencyKey existingKey = ReadConsistency.PRIMARY.supply(() -> this.idempotencyKeyRepository.get(idempotencyKey));
+            if(null == existingKey)
+            {
+                continue;
+            }
+
+            if(!CREATE_OPERATION.equals(existingKey.getOperation()) || !existingKey.getRequestHash().equals(requestHash))
+            {
+                throw new ConflictException(ErrorCode.IDEMPOTENCY_KEY_REUSED.getCode(), ErrorCode.IDEMPOTENCY_KEY_REUSED.getDescription());
+            }
+
+            if(null != existingKey.getEntityId())
+            {
+                return ReadConsistency.PRIMARY.supply(() -> this.matchRepository.get(existingKey.getEntityId()));
+            }
+
+            if((System.currentTimeMillis() - existingKey.getCreatedAt()) < PENDING_KEY_TIMEOUT_MILLIS)
+            {
+                break;
+            }
+            this.release(idempotencyKey, existingKey.getCreatedAt());
+        }
+
+        throw new ConflictException(ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS.getCode(), ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS.getDescription());
+    }
+
+    private void release(String idempotencyKey, Long createdAt)
+    {
+        try
+        {
+            this.idempotencyKeyRepository.removePending(idempotencyKey, createdAt);
+        }
+        catch(Exception ex)
+        {
+            // Left pending, the key is taken over once PENDING_KEY_TIMEOUT_MILLIS has passed
+        }
+    }
+
+    private static String requestHash(CreateRequest createRequest)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(Json.stringify(Json.toJson(createRequest)).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for(byte value: digest)
+            {
+                hash.append(String.format("%02x", value));
+            }
+            return hash.toString();
+        }
+        catch(NoSuchAlgorithmException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     @Override
-    public Match update(Long id, UpdateRequest updateRequest)
+    public Match update(Long id, UpdateRequest updateRequest, Set<Long> expectedVersions)
     {
         updateRequest.validate();
 
@@ -447,8 +614,14 @@ public class MatchServiceImpl implements MatchService
             throw new NotFoundException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Match"));
         }
 
+        if((null != expectedVersions) && !expectedVersions.contains(existingMatch.getVersion()))
+        {
+            throw new PreconditionFailedException(ErrorCode.VERSION_CONFLICT.getCode(), String.format(ErrorCode.VERSION_CONFLICT.getDescription(), "Match"));
+        }
+
         boolean isUpdateRequired = false;
 
+        TransactionEvent transactionEvent = TransactionEvent.start("MatchService.update");
         Transaction transaction = Ebean.beginTransaction();
         try
         {
@@ -685,6 +858,14 @@ public class MatchServiceImpl implements MatchService
             List<MatchPlayerMap> existingPlayers = this.matchRepository.getPlayers(id);
             Map<Long, MatchPlayerMap> existingPlayerMap = existingPlayers.stream().collect(Collectors.toMap(MatchPlayerMap::getPlayerId, matchPlayerMap -> matchPlayerMap));
 
+            // Scoring rows written below carry the series game type, the official flag and their team's type, as in create
+            Series series = null;
+            Map<Long, Team> teamMap = new HashMap<>();
+            if((null != updateRequest.getBattingScores()) || (null != updateRequest.getBowlingFigures()))
+            {
+                series = this.seriesRepository.get(existingMatch.getSeries());
+            }
+
             if((null != updateRequest.getPlayers()))
             {
                 List<MatchPlayerMap> playersToAdd = new ArrayList<>();
@@ -814,6 +995,9 @@ public class MatchServiceImpl implements MatchService
                     battingScore.setMatchId(id);
                     battingScore.setPlayerId(playerId);
                     battingScore.setTeamId(teamId);
+                    battingScore.setGameType(series.getGameType());
+                    battingScore.setOfficial(existingMatch.isOfficial());
+                    battingScore.setTeamType(teamMap.computeIfAbsent(teamId, this.teamService::getRaw).getTeamType());
                     battingScore.setRuns(runs);
                     battingScore.setBalls(balls);
                     battingScore.setFours(fours);
@@ -932,6 +1116,9 @@ public class MatchServiceImpl implements MatchService
                             fielderDismissal.setScoreId(battingScore.getId());
                             fielderDismissal.setPlayerId(fielderId);
                             fielderDismissal.setTeamId(fielderTeamId);
+                            fielderDismissal.setGameType(series.getGameType());
+                            fielderDismissal.setOfficial(existingMatch.isOfficial());
+                            fielderDismissal.setTeamType(teamMap.computeIfAbsent(fielderTeamId, this.teamService::getRaw).getTeamType());
 
                             fieldersToAdd.add(fielderDismissal);
                         }
@@ -1034,6 +1221,9 @@ public class MatchServiceImpl implements MatchService
                         throw new NotFoundException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Bowler's Team"));
                     }
                     bowlingFigure.setTeamId(teamId);
+                    bowlingFigure.setGameType(series.getGameType());
+                    bowlingFigure.setOfficial(existingMatch.isOfficial());
+                    bowlingFigure.setTeamType(team.getTeamType());
 
                     bowlingFigure.setBalls(balls);
                     bowlingFigure.setMaidens(maidens);
@@ -1212,20 +1402,37 @@ public class MatchServiceImpl implements MatchService
 
             if(isUpdateRequired)
             {
+                // Bumps the version even when only scorecard rows changed; the version check runs last so the
+                // matches row is locked only for the end of the transaction, the scorecard rows written above are
+                // locked from their own writes
+                Ebean.markAsDirty(existingMatch);
                 Match updatedMatch = this.matchRepository.save(existingMatch);
+                this.outboxRepository.add(AggregateType.MATCH, id, ChangeType.UPDATED, updatedMatch.getVersion(), updatedMatch);
+                this.matchCache.invalidateAfterCommit(transaction, id);
                 transaction.commit();
                 transaction.end();
+                transactionEvent.finish(id, true);
                 return updatedMatch;
             }
             else
             {
+                transaction.end();
+                transactionEvent.finish(id, false);
                 return existingMatch;
             }
         }
+        catch(ConflictException ex)
+        {
+            transaction.rollback();
+            transaction.end();
+            transactionEvent.finish(id, false);
+            throw ex;
+        }
         catch(Exception ex)
         {
             transaction.rollback();
             transaction.end();
+            transactionEvent.finish(id, false);
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
         }
     }
@@ -1239,6 +1446,7 @@ public class MatchServiceImpl implements MatchService
             throw new BadRequestException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Match"));
         }
 
+        TransactionEvent transactionEvent = TransactionEvent.start("MatchService.delete");
         Transaction transaction = Ebean.beginTransaction();
         try
         {
@@ -1254,15 +1462,20 @@ public class MatchServiceImpl implements MatchService
             this.matchRepository.removeBattingScores(battingScores);
             this.matchRepository.removeBowlerDismissals(this.matchRepository.getBowlingDismissals(battingScores.stream().filter(battingScore -> (null != battingScore.getBowlerDismissalId())).map(BattingScore::getBowlerDismissalId).collect(Collectors.toList())));
             this.matchRepository.removePlayers(this.matchRepository.getPlayers(id));
+            this.idempotencyKeyRepository.remove(CREATE_OPERATION, id);
             this.matchRepository.delete(existingMatch);
+            this.outboxRepository.add(AggregateType.MATCH, id, ChangeType.DELETED, existingMatch.getVersion(), null);
+            this.matchCache.invalidateAfterCommit(transaction, id);
             transaction.commit();
             transaction.end();
+            transactionEvent.finish(id, true);
             return true;
         }
         catch(Exception ex)
         {
             transaction.rollback();
             transaction.end();
+            transactionEvent.finish(id, false);
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
         }
     }
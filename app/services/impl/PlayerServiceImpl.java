@@ -1,23 +1,31 @@
 package services.impl;
 
 import com.google.inject.Inject;
+import database.ReadConsistency;
+import database.TransactionEvent;
+import enums.AggregateType;
+import enums.ChangeType;
 import enums.ErrorCode;
 import enums.GameType;
 import exceptions.BadRequestException;
+import exceptions.DBInteractionException;
+import exceptions.NotFoundException;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
 import models.Country;
 import models.Player;
 import org.springframework.util.StringUtils;
+import repositories.OutboxRepository;
 import repositories.PlayerRepository;
 import requests.players.CreateRequest;
 import requests.players.UpdateRequest;
 import responses.BattingStats;
 import responses.BowlingStats;
-import responses.FieldingStats;
 import responses.PlayerResponse;
 import services.CountryService;
 import services.PlayerService;
+import utils.SingleFlight;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,26 +33,42 @@ public class PlayerServiceImpl implements PlayerService
 {
     private final CountryService countryService;
 
+    private final OutboxRepository outboxRepository;
     private final PlayerRepository playerRepository;
 
+    private final SingleFlight<Long, PlayerResponse> playerResponseFlight = new SingleFlight<>();
+    private final SingleFlight<Long, PlayerResponse> primaryPlayerResponseFlight = new SingleFlight<>();
+
     @Inject
     public PlayerServiceImpl
     (
         CountryService countryService,
 
+        OutboxRepository outboxRepository,
         PlayerRepository playerRepository
     )
     {
         this.countryService = countryService;
 
+        this.outboxRepository = outboxRepository;
         this.playerRepository = playerRepository;
     }
 
 
     @Override
     public PlayerResponse get(Long id)
+    {
+        SingleFlight<Long, PlayerResponse> flight = ReadConsistency.current().isPrimary() ? this.primaryPlayerResponseFlight : this.playerResponseFlight;
+        return flight.execute(id, () -> this.load(id));
+    }
+
+    private PlayerResponse load(Long id)
     {
         Player basicDetails = this.getRaw(id);
+        if(null == basicDetails)
+        {
+            throw new NotFoundException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Player"));
+        }
         PlayerResponse playerResponse = new PlayerResponse(basicDetails);
 
         playerResponse.setCountry(this.countryService.get(basicDetails.getCountryId()));
@@ -52,85 +76,53 @@ public class PlayerServiceImpl implements PlayerService
         Map<GameType, Map<String, Integer>> dismissalStats = this.playerRepository.getDismissalStats(id);
         playerResponse.setDismissalStats(dismissalStats);
 
-        Map<GameType, Integer> dismissalCountMap = new HashMap<>();
-        for(GameType gameType: GameType.values())
+        Map<GameType, BattingStats> battingStatsMap = this.playerRepository.getBattingStats(id);
+        for(Map.Entry<GameType, BattingStats> entry: battingStatsMap.entrySet())
         {
-            Integer dismissalCount = 0;
-            if(dismissalStats.containsKey(gameType))
+            BattingStats battingStats = entry.getValue();
+
+            int dismissalCount = 0;
+            Map<String, Integer> dismissals = dismissalStats.get(entry.getKey());
+            if(null != dismissals)
             {
-                for(String key: dismissalStats.get(gameType).keySet())
+                for(int count: dismissals.values())
                 {
-                    dismissalCount += dismissalStats.get(gameType).get(key);
+                    dismissalCount += count;
                 }
             }
-            dismissalCountMap.put(gameType, dismissalCount);
-        }
 
-        Map<GameType, Map<String, Integer>> basicStatsMap = this.playerRepository.getBasicBattingStats(id);
-        if(!basicStatsMap.keySet().isEmpty())
-        {
-            Map<GameType, BattingStats> battingStatsMap = new HashMap<>();
+            battingStats.setNotOuts(battingStats.getInnings() - dismissalCount);
 
-            for(GameType gameType: basicStatsMap.keySet())
+            if(dismissalCount > 0)
             {
-                BattingStats battingStats = new BattingStats(basicStatsMap.get(gameType));
-                battingStats.setNotOuts(battingStats.getInnings() - dismissalCountMap.get(gameType));
-
-                if(dismissalCountMap.get(gameType) > 0)
-                {
-                    battingStats.setAverage(battingStats.getRuns() * 1.0 / dismissalCountMap.get(gameType));
-                }
-
-                if(battingStats.getBalls() > 0)
-                {
-                    battingStats.setStrikeRate(battingStats.getRuns() * 100.0 / battingStats.getBalls());
-                }
-
-                battingStatsMap.put(gameType, battingStats);
+                battingStats.setAverage(battingStats.getRuns() * 1.0 / dismissalCount);
             }
 
-            playerResponse.setBattingStats(battingStatsMap);
+            if(battingStats.getBalls() > 0)
+            {
+                battingStats.setStrikeRate(battingStats.getRuns() * 100.0 / battingStats.getBalls());
+            }
         }
+        playerResponse.setBattingStats(battingStatsMap);
 
-        Map<GameType, Map<String, Integer>> basicBowlingStatsMap = this.playerRepository.getBasicBowlingStats(id);
-        if(!basicBowlingStatsMap.keySet().isEmpty())
+        Map<GameType, BowlingStats> bowlingStatsMap = this.playerRepository.getBowlingStats(id);
+        for(BowlingStats bowlingStats: bowlingStatsMap.values())
         {
-            Map<GameType, BowlingStats> bowlingStatsFinal = new HashMap<>();
-
-            for(GameType gameType: basicBowlingStatsMap.keySet())
+            if(bowlingStats.getBalls() > 0)
             {
-                BowlingStats bowlingStats = new BowlingStats(basicBowlingStatsMap.get(gameType));
+                bowlingStats.setEconomy(bowlingStats.getRuns() * 6.0 / bowlingStats.getBalls());
 
-                if(bowlingStats.getBalls() > 0)
+                if(bowlingStats.getWickets() > 0)
                 {
-                    bowlingStats.setEconomy(bowlingStats.getRuns() * 6.0 / bowlingStats.getBalls());
-
-                    if(bowlingStats.getWickets() > 0)
-                    {
-                        bowlingStats.setAverage(bowlingStats.getRuns() * 1.0 / bowlingStats.getWickets());
+                    bowlingStats.setAverage(bowlingStats.getRuns() * 1.0 / bowlingStats.getWickets());
 
-                        bowlingStats.setStrikeRate(bowlingStats.getBalls() * 1.0 / bowlingStats.getWickets());
-                    }
+                    bowlingStats.setStrikeRate(bowlingStats.getBalls() * 1.0 / bowlingStats.getWickets());
                 }
-
-                bowlingStatsFinal.put(gameType, bowlingStats);
             }
-
-            playerResponse.setBowlingStats(bowlingStatsFinal);
         }
+        playerResponse.setBowlingStats(bowlingStatsMap);
 
-        Map<GameType, Map<String, Integer>> fieldingStatsMap = this.playerRepository.getFieldingStats(id);
-        if(!fieldingStatsMap.keySet().isEmpty())
-        {
-            Map<GameType, FieldingStats> fieldingStatsMapFinal = new HashMap<>();
-            for(GameType gameType: fieldingStatsMap.keySet())
-            {
-                FieldingStats fieldingStats = new FieldingStats(fieldingStatsMap.get(gameType));
-                fieldingStatsMapFinal.put(gameType, fieldingStats);
-            }
-
-            playerResponse.setFieldingStats(fieldingStatsMapFinal);
-        }
+        playerResponse.setFieldingStats(this.playerRepository.getFieldingStats(id));
         return playerResponse;
     }
 
@@ -163,7 +155,24 @@ public class PlayerServiceImpl implements PlayerService
             throw new BadRequestException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Country"));
         }
 
-        return this.playerRepository.save(new Player(createRequest));
+        TransactionEvent transactionEvent = TransactionEvent.start("PlayerService.create");
+        Transaction transaction = Ebean.beginTransaction();
+        try
+        {
+            Player createdPlayer = this.playerRepository.save(new Player(createRequest));
+            this.outboxRepository.add(AggregateType.PLAYER, createdPlayer.getId(), ChangeType.CREATED, null, createdPlayer);
+            transaction.commit();
+            transaction.end();
+            transactionEvent.finish(createdPlayer.getId(), true);
+            return createdPlayer;
+        }
+        catch(Exception ex)
+        {
+            transaction.rollback();
+            transaction.end();
+            transactionEvent.finish(null, false);
+            throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
+        }
     }
 
     @Override
@@ -212,7 +221,23 @@ public class PlayerServiceImpl implements PlayerService
 
         if(isUpdateRequired)
         {
-            updatedPlayer = this.playerRepository.save(existingPlayer);
+            TransactionEvent transactionEvent = TransactionEvent.start("PlayerService.update");
+            Transaction transaction = Ebean.beginTransaction();
+            try
+            {
+                updatedPlayer = this.playerRepository.save(existingPlayer);
+                this.outboxRepository.add(AggregateType.PLAYER, id, ChangeType.UPDATED, null, updatedPlayer);
+                transaction.commit();
+                transaction.end();
+                transactionEvent.finish(id, true);
+            }
+            catch(Exception ex)
+            {
+                transaction.rollback();
+                transaction.end();
+                transactionEvent.finish(id, false);
+                throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
+            }
         }
 
         return updatedPlayer;
@@ -1,10 +1,16 @@
 package services.impl;
 
 import com.google.inject.Inject;
+import database.ReadConsistency;
+import database.TransactionEvent;
+import enums.AggregateType;
+import enums.ChangeType;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import exceptions.ConflictException;
 import exceptions.DBInteractionException;
 import exceptions.NotFoundException;
+import exceptions.PreconditionFailedException;
 import io.ebean.Ebean;
 import io.ebean.Transaction;
 import models.*;
@@ -19,6 +25,7 @@ import services.CountryService;
 import services.PlayerService;
 import services.SeriesService;
 import services.TeamService;
+import utils.SingleFlight;
 import utils.Utils;
 
 import java.text.SimpleDateFormat;
@@ -26,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
@@ -37,10 +45,14 @@ public class SeriesServiceImpl implements SeriesService
     private final TeamService teamService;
 
     private final MatchRepository matchRepository;
+    private final OutboxRepository outboxRepository;
     private final PlayerRepository playerRepository;
     private final SeriesRepository seriesRepository;
     private final TourRepository tourRepository;
 
+    private final SingleFlight<Long, SeriesResponse> seriesResponseFlight = new SingleFlight<>();
+    private final SingleFlight<Long, SeriesResponse> primarySeriesResponseFlight = new SingleFlight<>();
+
     @Inject
     public SeriesServiceImpl
     (
@@ -49,6 +61,7 @@ public class SeriesServiceImpl implements SeriesService
         TeamService teamService,
 
         MatchRepository matchRepository,
+        OutboxRepository outboxRepository,
         PlayerRepository playerRepository,
         SeriesRepository seriesRepository,
         TourRepository tourRepository
@@ -59,6 +72,7 @@ public class SeriesServiceImpl implements SeriesService
         this.teamService = teamService;
 
         this.matchRepository = matchRepository;
+        this.outboxRepository = outboxRepository;
         this.playerRepository = playerRepository;
         this.seriesRepository = seriesRepository;
         this.tourRepository = tourRepository;
@@ -100,6 +114,12 @@ public class SeriesServiceImpl implements SeriesService
 
     @Override
     public SeriesResponse get(Long id)
+    {
+        SingleFlight<Long, SeriesResponse> flight = ReadConsistency.current().isPrimary() ? this.primarySeriesResponseFlight : this.seriesResponseFlight;
+        return flight.execute(id, () -> this.load(id));
+    }
+
+    private SeriesResponse load(Long id)
     {
         Series series = this.seriesRepository.get(id);
         if(null == series)
@@ -131,6 +151,7 @@ public class SeriesServiceImpl implements SeriesService
             throw new BadRequestException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Country"));
         }
 
+        TransactionEvent transactionEvent = TransactionEvent.start("SeriesService.create");
         Transaction transaction = Ebean.beginTransaction();
         try
         {
@@ -157,34 +178,44 @@ public class SeriesServiceImpl implements SeriesService
             Series createdSeries = this.seriesRepository.save(series);
 
             this.seriesRepository.addTeamsToSeries(createRequest.getTeams(), createdSeries.getId());
+            this.outboxRepository.add(AggregateType.SERIES, createdSeries.getId(), ChangeType.CREATED, createdSeries.getVersion(), createdSeries);
 
             transaction.commit();
             transaction.end();
+            transactionEvent.finish(createdSeries.getId(), true);
             return createdSeries;
         }
         catch(Exception ex)
         {
             transaction.rollback();
             transaction.end();
+            transactionEvent.finish(null, false);
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
         }
     }
 
     @Override
-    public Series update(Long id, UpdateRequest updateRequest)
+    public Series update(Long id, UpdateRequest updateRequest, Set<Long> expectedVersions)
     {
         Series existingSeries = this.seriesRepository.get(id);
         if(null == existingSeries)
         {
             throw new NotFoundException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Series"));
         }
+
+        if((null != expectedVersions) && !expectedVersions.contains(existingSeries.getVersion()))
+        {
+            throw new PreconditionFailedException(ErrorCode.VERSION_CONFLICT.getCode(), String.format(ErrorCode.VERSION_CONFLICT.getDescription(), "Series"));
+        }
         List<SeriesTeamsMap> existingTeams = this.seriesRepository.getTeamsForSeries(id);
         updateRequest.validate(existingSeries, existingTeams);
 
+        TransactionEvent transactionEvent = TransactionEvent.start("SeriesService.update");
         Transaction transaction = Ebean.beginTransaction();
         try
         {
             boolean isUpdateRequired = false;
+            boolean isGameTypeChanged = false;
 
             if(!StringUtils.isEmpty(updateRequest.getName()) && !existingSeries.getName().equals(updateRequest.getName()))
             {
@@ -201,6 +232,7 @@ public class SeriesServiceImpl implements SeriesService
             if((null != updateRequest.getGameType()) && !existingSeries.getGameType().equals(updateRequest.getGameType()))
             {
                 isUpdateRequired = true;
+                isGameTypeChanged = true;
                 existingSeries.setGameType(updateRequest.getGameType());
             }
 
@@ -329,20 +361,37 @@ public class SeriesServiceImpl implements SeriesService
             Series updatedSeries;
             if(isUpdateRequired)
             {
+                Ebean.markAsDirty(existingSeries);
                 updatedSeries = this.seriesRepository.save(existingSeries);
+                if(isGameTypeChanged)
+                {
+                    this.matchRepository.refreshScoringAttributesForSeries(id);
+                }
+                this.outboxRepository.add(AggregateType.SERIES, id, ChangeType.UPDATED, updatedSeries.getVersion(), updatedSeries);
                 transaction.commit();
                 transaction.end();
+                transactionEvent.finish(id, true);
             }
             else
             {
                 updatedSeries = existingSeries;
+                transaction.end();
+                transactionEvent.finish(id, false);
             }
             return updatedSeries;
         }
+        catch(ConflictException ex)
+        {
+            transaction.rollback();
+            transaction.end();
+            transactionEvent.finish(id, false);
+            throw ex;
+        }
         catch(Exception ex)
         {
             transaction.rollback();
             transaction.end();
+            transactionEvent.finish(id, false);
             throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
         }
     }
@@ -7,6 +7,7 @@ import exceptions.NotFoundException;
 import models.Country;
 import models.Stadium;
 import org.springframework.util.StringUtils;
+import projections.StadiumRow;
 import repositories.StadiumRepository;
 import requests.stadiums.CreateRequest;
 import requests.stadiums.UpdateRequest;
@@ -44,7 +45,7 @@ public class StadiumServiceImpl implements StadiumService
         return stadiumResponse;
     }
 
-    public CompletionStage<List<Stadium>> getAll()
+    public CompletionStage<List<StadiumRow>> getAll()
     {
         return this.stadiumRepository.getAll();
     }
@@ -2,12 +2,17 @@ package services.impl;
 
 import com.google.inject.Inject;
 
+import database.TransactionEvent;
 import enums.ErrorCode;
 import exceptions.BadRequestException;
+import exceptions.DBInteractionException;
 import exceptions.NotFoundException;
+import io.ebean.Ebean;
+import io.ebean.Transaction;
 import models.Country;
 import models.Team;
 import org.springframework.util.StringUtils;
+import projections.TeamRow;
 import repositories.TeamRepository;
 import requests.teams.CreateRequest;
 import requests.teams.UpdateRequest;
@@ -44,7 +49,7 @@ public class TeamServiceImpl implements TeamService
         return teamResponse;
     }
 
-    public CompletionStage<List<Team>> getAll()
+    public CompletionStage<List<TeamRow>> getAll()
     {
         return this.teamRepository.getAll();
     }
@@ -106,6 +111,7 @@ public class TeamServiceImpl implements TeamService
         }
 
         boolean isUpdateRequired = false;
+        boolean isTeamTypeChanged = false;
 
         if(!StringUtils.isEmpty(updateRequest.getName()) && (!existingTeam.getName().equals(updateRequest.getName())))
         {
@@ -117,6 +123,7 @@ public class TeamServiceImpl implements TeamService
         {
             existingTeam.setTeamType(updateRequest.getTeamType());
             isUpdateRequired = true;
+            isTeamTypeChanged = true;
         }
 
         if((null != updateRequest.getCountryId()) && (!updateRequest.getCountryId().equals(existingTeam.getCountryId())))
@@ -134,7 +141,27 @@ public class TeamServiceImpl implements TeamService
 
         if(isUpdateRequired)
         {
-            return this.teamRepository.save(existingTeam);
+            TransactionEvent transactionEvent = TransactionEvent.start("TeamService.update");
+            Transaction transaction = Ebean.beginTransaction();
+            try
+            {
+                Team updatedTeam = this.teamRepository.save(existingTeam);
+                if(isTeamTypeChanged)
+                {
+                    this.teamRepository.updateScoringTeamType(updatedTeam.getId(), updatedTeam.getTeamType());
+                }
+                transaction.commit();
+                transaction.end();
+                transactionEvent.finish(id, true);
+                return updatedTeam;
+            }
+            catch(Exception ex)
+            {
+                transaction.rollback();
+                transaction.end();
+                transactionEvent.finish(id, false);
+                throw new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
+            }
         }
         else
         {
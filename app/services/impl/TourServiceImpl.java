@@ -12,10 +12,13 @@ import requests.tours.UpdateRequest;
 import responses.TourResponse;
 import services.SeriesService;
 import services.TourService;
+import utils.Utils;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 public class TourServiceImpl implements TourService
 {
@@ -68,6 +71,7 @@ public class TourServiceImpl implements TourService
         Tour tour = new Tour();
         tour.setName(createRequest.getName());
         tour.setStartTime(createRequest.getStartTime());
+        tour.setYear(Utils.getYear(createRequest.getStartTime()));
 
         return this.tourRepository.save(tour);
     }
@@ -95,6 +99,7 @@ public class TourServiceImpl implements TourService
         {
             isUpdateRequired = true;
             existingTour.setStartTime(updateRequest.getStartTime());
+            existingTour.setYear(Utils.getYear(updateRequest.getStartTime()));
         }
 
         if(isUpdateRequired)
@@ -117,6 +122,12 @@ public class TourServiceImpl implements TourService
     @Override
     public List<Integer> getYears()
     {
-        return this.tourRepository.getYears();
+        return new ArrayList<>(this.getYearCounts().keySet());
+    }
+
+    @Override
+    public Map<Integer, Integer> getYearCounts()
+    {
+        return this.tourRepository.getYearCounts();
     }
 }
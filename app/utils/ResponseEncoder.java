@@ -0,0 +1,163 @@
+package utils;
+
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import akka.util.ByteStringBuilder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import enums.ResponseFormat;
+import play.libs.Json;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResponseEncoder
+{
+    private static final int ELEMENTS_PER_CHUNK = 64;
+
+    private static final ByteString ARRAY_START = ByteString.fromString("[");
+    private static final ByteString ARRAY_END = ByteString.fromString("]");
+    private static final byte SEPARATOR = ',';
+
+    private static final Map<ResponseFormat, ObjectWriter> binaryWriters = new EnumMap<>(ResponseFormat.class);
+
+    static
+    {
+        binaryWriters.put(ResponseFormat.CBOR, binaryMapper(new CBORFactory()).writer());
+        binaryWriters.put(ResponseFormat.SMILE, binaryMapper(new SmileFactory().configure(SmileGenerator.Feature.CHECK_SHARED_NAMES, true)).writer());
+    }
+
+    private static volatile CachedWriter cachedJsonWriter;
+
+    public static Result ok(Object value)
+    {
+        return ok(ResponseFormat.JSON, value);
+    }
+
+    public static Result ok(Http.Request request, Object value)
+    {
+        return ok(negotiate(request), value).withHeader(Http.HeaderNames.VARY, Http.HeaderNames.ACCEPT);
+    }
+
+    public static Result okChunked(List<?> values)
+    {
+        return Results.ok().chunked(stream(values)).as(Http.MimeTypes.JSON);
+    }
+
+    public static Result okChunked(Http.Request request, List<?> values)
+    {
+        ResponseFormat format = negotiate(request);
+        Result result = (ResponseFormat.JSON == format) ? okChunked(values) : ok(format, values);
+        return result.withHeader(Http.HeaderNames.VARY, Http.HeaderNames.ACCEPT);
+    }
+
+    public static ResponseFormat negotiate(Http.RequestHeader request)
+    {
+        for(Http.MediaRange mediaRange: request.acceptedTypes())
+        {
+            for(ResponseFormat format: ResponseFormat.values())
+            {
+                if(mediaRange.accepts(format.getMimeType()))
+                {
+                    return format;
+                }
+            }
+        }
+
+        return ResponseFormat.JSON;
+    }
+
+    public static Source<ByteString, NotUsed> stream(List<?> values)
+    {
+        Source<ByteString, NotUsed> elements = Source.from(values)
+            .grouped(ELEMENTS_PER_CHUNK)
+            .zipWithIndex()
+            .map(pair -> {
+                ByteStringBuilder builder = new ByteStringBuilder();
+                boolean first = (0L == pair.second());
+                for(Object value: pair.first())
+                {
+                    if(!first)
+                    {
+                        builder.putByte(SEPARATOR);
+                    }
+                    builder.putBytes(toBytes(value));
+                    first = false;
+                }
+                return builder.result();
+            });
+
+        return Source.single(ARRAY_START).concat(elements).concat(Source.single(ARRAY_END));
+    }
+
+    public static byte[] toBytes(Object value)
+    {
+        return toBytes(ResponseFormat.JSON, value);
+    }
+
+    public static byte[] toBytes(ResponseFormat format, Object value)
+    {
+        try
+        {
+            return writer(format).writeValueAsBytes(value);
+        }
+        catch(JsonProcessingException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Result ok(ResponseFormat format, Object value)
+    {
+        return Results.ok(toBytes(format, value)).as(format.getMimeType());
+    }
+
+    private static ObjectWriter writer(ResponseFormat format)
+    {
+        if(ResponseFormat.JSON != format)
+        {
+            return binaryWriters.get(format);
+        }
+
+        ObjectMapper mapper = Json.mapper();
+        CachedWriter cached = cachedJsonWriter;
+        if((null == cached) || (cached.mapper != mapper))
+        {
+            cached = new CachedWriter(mapper, mapper.writer());
+            cachedJsonWriter = cached;
+        }
+        return cached.writer;
+    }
+
+    private static ObjectMapper binaryMapper(JsonFactory factory)
+    {
+        return new ObjectMapper(factory)
+            .registerModule(new Jdk8Module())
+            .registerModule(new JavaTimeModule());
+    }
+
+    private static class CachedWriter
+    {
+        private final ObjectMapper mapper;
+        private final ObjectWriter writer;
+
+        private CachedWriter(ObjectMapper mapper, ObjectWriter writer)
+        {
+            this.mapper = mapper;
+            this.writer = writer;
+        }
+    }
+}
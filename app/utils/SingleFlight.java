@@ -0,0 +1,58 @@
+package utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public class SingleFlight<K, V>
+{
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> supplier)
+    {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existingCall = this.inFlight.putIfAbsent(key, call);
+        if(null != existingCall)
+        {
+            return await(existingCall);
+        }
+
+        try
+        {
+            V value = supplier.get();
+            call.complete(value);
+            return value;
+        }
+        catch(RuntimeException | Error ex)
+        {
+            call.completeExceptionally(ex);
+            throw ex;
+        }
+        finally
+        {
+            this.inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call)
+    {
+        try
+        {
+            return call.join();
+        }
+        catch(CompletionException ex)
+        {
+            if(ex.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) ex.getCause();
+            }
+            if(ex.getCause() instanceof Error)
+            {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package utils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import enums.ErrorCode;
+import exceptions.BadRequestException;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Utils
 {
     private static final ObjectMapper objMapper = new ObjectMapper();
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
 
     public static <T> T convertObject(Object from, Class<T> to) {
         return objMapper.convertValue(from, to);
@@ -19,8 +30,63 @@ public class Utils
         return objMapper.convertValue(from, TypeFactory.defaultInstance().constructCollectionType(List.class, to));
     }
 
+    public static ObjectReader readerFor(Class<?> type)
+    {
+        return readers.computeIfAbsent(type, objMapper::readerFor);
+    }
+
     public static Date getCurrentDate()
     {
         return new Date();
     }
+
+    public static Integer getYear(Long epochMillis)
+    {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC).getYear();
+    }
+
+    public static String etag(Long version)
+    {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match carries one or more ETags of previous GETs; absent or "*" means no version precondition. If-Match uses
+    // strong comparison, so a weak tag (W/"3") never matches and is left out of the returned versions
+    public static Set<Long> ifMatchVersions(Optional<String> ifMatch)
+    {
+        if(!ifMatch.isPresent() || "*".equals(ifMatch.get().trim()))
+        {
+            return null;
+        }
+
+        Set<Long> versions = new HashSet<>();
+        for(String tag: ifMatch.get().split(","))
+        {
+            tag = tag.trim();
+            boolean weak = tag.startsWith("W/");
+            if(weak)
+            {
+                tag = tag.substring(2);
+            }
+
+            if((tag.length() < 3) || !tag.startsWith("\"") || !tag.endsWith("\""))
+            {
+                throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
+            }
+
+            try
+            {
+                Long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+                if(!weak)
+                {
+                    versions.add(version);
+                }
+            }
+            catch(NumberFormatException ex)
+            {
+                throw new BadRequestException(ErrorCode.INVALID_REQUEST.getCode(), ErrorCode.INVALID_REQUEST.getDescription());
+            }
+        }
+        return versions;
+    }
 }
@@ -0,0 +1,62 @@
+package bench;
+
+import io.ebean.Ebean;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import play.Application;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+public class AppState
+{
+    private static final int SAMPLE_SIZE = 512;
+
+    public Application application;
+    public long[] matchIds;
+    public long[] playerIds;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        this.application = BenchApplication.start();
+        this.matchIds = ids("SELECT id FROM matches ORDER BY id LIMIT " + SAMPLE_SIZE);
+        this.playerIds = ids("SELECT id FROM players ORDER BY id LIMIT " + SAMPLE_SIZE);
+        if((0 == this.matchIds.length) || (0 == this.playerIds.length))
+        {
+            throw new IllegalStateException("Benchmark database has no matches or players; seed it with the dataset generator first");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        BenchApplication.stop();
+    }
+
+    public <T> T instanceOf(Class<T> type)
+    {
+        return this.application.injector().instanceOf(type);
+    }
+
+    public long nextMatchId()
+    {
+        return this.matchIds[ThreadLocalRandom.current().nextInt(this.matchIds.length)];
+    }
+
+    public long nextPlayerId()
+    {
+        return this.playerIds[ThreadLocalRandom.current().nextInt(this.playerIds.length)];
+    }
+
+    private static long[] ids(String query)
+    {
+        List<Long> ids = Ebean.createSqlQuery(query).findList().stream().map(row -> row.getLong("id")).collect(Collectors.toList());
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,83 @@
+package bench;
+
+import play.Application;
+import play.inject.guice.GuiceApplicationBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class BenchApplication
+{
+    private static Application application;
+    private static EmbeddedDatabase database;
+
+    public static synchronized Application start()
+    {
+        if(null == application)
+        {
+            Map<String, Object> configuration = new HashMap<>();
+            if(Boolean.getBoolean("bench.embedded"))
+            {
+                database = startEmbedded();
+                configuration.put("db.default.url", database.getUrl());
+                configuration.put("db.default.user", EmbeddedDatabase.USER);
+                configuration.put("db.default.password", EmbeddedDatabase.PASSWORD);
+            }
+            else
+            {
+                override(configuration, "db.default.url", "bench.db.url");
+                override(configuration, "db.default.user", "bench.db.user");
+                override(configuration, "db.default.password", "bench.db.password");
+            }
+            for(String key: new String[]{"url", "user", "password"})
+            {
+                if(configuration.containsKey("db.default." + key))
+                {
+                    configuration.put("db.replica." + key, configuration.get("db.default." + key));
+                    configuration.put("db.analytics." + key, configuration.get("db.default." + key));
+                }
+            }
+            configuration.put("sqlTrace.enabled", Boolean.getBoolean("bench.sqlTrace"));
+
+            application = new GuiceApplicationBuilder().configure(configuration).build();
+        }
+
+        return application;
+    }
+
+    public static synchronized void stop()
+    {
+        if(null != application)
+        {
+            play.api.Play.stop(application.asScala());
+            application = null;
+        }
+
+        if(null != database)
+        {
+            database.stop();
+            database = null;
+        }
+    }
+
+    private static EmbeddedDatabase startEmbedded()
+    {
+        try
+        {
+            return EmbeddedDatabase.start(Long.getLong("bench.seed", 42L), Integer.getInteger("bench.matches", 2000));
+        }
+        catch(Exception ex)
+        {
+            throw new IllegalStateException("Could not start embedded database", ex);
+        }
+    }
+
+    private static void override(Map<String, Object> configuration, String key, String property)
+    {
+        String value = System.getProperty(property);
+        if(null != value)
+        {
+            configuration.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package bench;
+
+import bench.data.DatasetGenerator;
+import bench.data.JdbcSink;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class EmbeddedDatabase
+{
+    public static final String NAME = "cric";
+    public static final String USER = "root";
+    public static final String PASSWORD = "";
+
+    private static final String EVOLUTIONS = "evolutions/default/";
+    private static final Pattern STATEMENT_END = Pattern.compile(";\\s*(\\r?\\n|$)");
+    private static final Pattern DEFINER = Pattern.compile("DEFINER=`[^`]*`@`[^`]*`\\s*");
+
+    private final DB db;
+    private final String url;
+
+    private EmbeddedDatabase(DB db, String url)
+    {
+        this.db = db;
+        this.url = url;
+    }
+
+    public static EmbeddedDatabase start(long seed, int matches) throws Exception
+    {
+        DBConfigurationBuilder configuration = DBConfigurationBuilder.newBuilder();
+        configuration.setPort(0);
+        configuration.addArg("--character-set-server=utf8mb4");
+        configuration.addArg("--collation-server=utf8mb4_unicode_ci");
+        configuration.addArg("--max-connections=500");
+
+        DB db = DB.newEmbeddedDB(configuration.build());
+        db.start();
+        db.createDB(NAME);
+
+        String url = configuration.getURL(NAME) + "?useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=UTF-8";
+        EmbeddedDatabase database = new EmbeddedDatabase(db, url);
+        database.applyEvolutions();
+        if(matches > 0)
+        {
+            try(JdbcSink sink = new JdbcSink(url + "&rewriteBatchedStatements=true", USER, PASSWORD))
+            {
+                new DatasetGenerator(seed, sink, 16, 400, 12).generate(matches);
+            }
+        }
+        return database;
+    }
+
+    public String getUrl()
+    {
+        return this.url;
+    }
+
+    public int getPort()
+    {
+        return this.db.getConfiguration().getPort();
+    }
+
+    public void stop()
+    {
+        try
+        {
+            this.db.stop();
+        }
+        catch(Exception ex)
+        {
+            throw new IllegalStateException("Could not stop embedded database", ex);
+        }
+    }
+
+    private void applyEvolutions() throws SQLException, IOException
+    {
+        try(Connection connection = DriverManager.getConnection(this.url, USER, PASSWORD); Statement statement = connection.createStatement())
+        {
+            for(int revision = 1; ; revision++)
+            {
+                String script = read(EVOLUTIONS + revision + ".sql");
+                if(null == script)
+                {
+                    break;
+                }
+
+                for(String sql: statements(script))
+                {
+                    statement.execute(sql);
+                }
+            }
+
+            try(ResultSet views = statement.executeQuery("SELECT COUNT(*) FROM information_schema.views WHERE table_schema = '" + NAME + "'"))
+            {
+                views.next();
+                if(0 == views.getInt(1))
+                {
+                    throw new IllegalStateException("Evolutions applied but no views were created");
+                }
+            }
+        }
+    }
+
+    static List<String> statements(String script)
+    {
+        List<String> statements = new ArrayList<>();
+        for(String sql: STATEMENT_END.split(script))
+        {
+            sql = sql.trim();
+            if(sql.isEmpty() || sql.startsWith("#"))
+            {
+                continue;
+            }
+
+            sql = DEFINER.matcher(sql).replaceAll("");
+            sql = sql.replace("utf8mb4_0900_ai_ci", "utf8mb4_unicode_ci");
+            statements.add(sql);
+        }
+        return statements;
+    }
+
+    private static String read(String resource) throws IOException
+    {
+        InputStream stream = EmbeddedDatabase.class.getClassLoader().getResourceAsStream(resource);
+        if(null == stream)
+        {
+            return null;
+        }
+
+        try(InputStream input = stream)
+        {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
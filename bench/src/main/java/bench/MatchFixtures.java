@@ -0,0 +1,126 @@
+package bench;
+
+import models.BattingScore;
+import models.BowlerDismissal;
+import models.BowlingFigure;
+import models.Captain;
+import models.Extras;
+import models.FielderDismissal;
+import models.ManOfTheMatch;
+import models.Match;
+import models.MatchPlayerMap;
+import models.WicketKeeper;
+import repositories.MatchRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class MatchFixtures
+{
+    public static Map<String, Object> scorecard(MatchRepository matchRepository, Long matchId)
+    {
+        Match match = matchRepository.get(matchId);
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("seriesId", match.getSeries());
+        request.put("team1", match.getTeam1());
+        request.put("team2", match.getTeam2());
+        request.put("tossWinner", match.getTossWinner());
+        request.put("batFirst", match.getBatFirst());
+        request.put("result", match.getResult());
+        request.put("winner", match.getWinner());
+        request.put("winMargin", match.getWinMargin());
+        request.put("winMarginType", match.getWinMarginType());
+        request.put("stadium", match.getStadium());
+        request.put("startTime", match.getStartTime());
+        request.put("tag", match.getTag());
+
+        List<Map<String, String>> players = new ArrayList<>();
+        for(MatchPlayerMap matchPlayerMap: matchRepository.getPlayers(matchId))
+        {
+            Map<String, String> player = new HashMap<>();
+            player.put("playerId", matchPlayerMap.getPlayerId().toString());
+            player.put("teamId", matchPlayerMap.getTeamId().toString());
+            players.add(player);
+        }
+        request.put("players", players);
+        request.put("bench", new ArrayList<>());
+
+        List<Map<String, String>> extras = new ArrayList<>();
+        for(Extras extra: matchRepository.getExtras(matchId))
+        {
+            Map<String, String> extraRaw = new HashMap<>();
+            extraRaw.put("runs", String.valueOf(extra.getRuns()));
+            extraRaw.put("type", extra.getType().name());
+            extraRaw.put("battingTeam", extra.getBattingTeam().toString());
+            extraRaw.put("bowlingTeam", extra.getBowlingTeam().toString());
+            extraRaw.put("innings", String.valueOf(extra.getInnings()));
+            extraRaw.put("teamInnings", String.valueOf(extra.getTeamInnings()));
+            extras.add(extraRaw);
+        }
+        request.put("extras", extras);
+
+        List<BattingScore> battingScores = matchRepository.getBattingScores(matchId);
+        Map<Long, List<FielderDismissal>> fieldersByScore = new HashMap<>();
+        if(!battingScores.isEmpty())
+        {
+            fieldersByScore = matchRepository.getFielderDismissals(battingScores.stream().map(BattingScore::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(FielderDismissal::getScoreId));
+        }
+
+        List<Map<String, String>> battingScoresRaw = new ArrayList<>();
+        for(BattingScore battingScore: battingScores)
+        {
+            Map<String, String> battingScoreRaw = new HashMap<>();
+            battingScoreRaw.put("playerId", battingScore.getPlayerId().toString());
+            battingScoreRaw.put("runs", String.valueOf(battingScore.getRuns()));
+            battingScoreRaw.put("balls", String.valueOf(battingScore.getBalls()));
+            battingScoreRaw.put("fours", String.valueOf(battingScore.getFours()));
+            battingScoreRaw.put("sixes", String.valueOf(battingScore.getSixes()));
+            battingScoreRaw.put("innings", String.valueOf(battingScore.getInnings()));
+            battingScoreRaw.put("teamInnings", String.valueOf(battingScore.getTeamInnings()));
+            if(null != battingScore.getDismissalMode())
+            {
+                battingScoreRaw.put("dismissalMode", battingScore.getDismissalMode().toString());
+            }
+            if(null != battingScore.getBowlerDismissalId())
+            {
+                BowlerDismissal bowlerDismissal = matchRepository.getBowlingDismissal(battingScore.getBowlerDismissalId());
+                battingScoreRaw.put("bowlerId", bowlerDismissal.getPlayerId().toString());
+            }
+            List<FielderDismissal> fielders = fieldersByScore.get(battingScore.getId());
+            if(null != fielders)
+            {
+                battingScoreRaw.put("fielders", fielders.stream().map(fielder -> fielder.getPlayerId().toString()).collect(Collectors.joining(", ")));
+            }
+            battingScoresRaw.add(battingScoreRaw);
+        }
+        request.put("battingScores", battingScoresRaw);
+
+        List<Map<String, String>> bowlingFigures = new ArrayList<>();
+        for(BowlingFigure bowlingFigure: matchRepository.getBowlingFigures(matchId))
+        {
+            Map<String, String> bowlingFigureRaw = new HashMap<>();
+            bowlingFigureRaw.put("playerId", bowlingFigure.getPlayerId().toString());
+            bowlingFigureRaw.put("balls", String.valueOf(bowlingFigure.getBalls()));
+            bowlingFigureRaw.put("maidens", String.valueOf(bowlingFigure.getMaidens()));
+            bowlingFigureRaw.put("runs", String.valueOf(bowlingFigure.getRuns()));
+            bowlingFigureRaw.put("wickets", String.valueOf(bowlingFigure.getWickets()));
+            bowlingFigureRaw.put("innings", String.valueOf(bowlingFigure.getInnings()));
+            bowlingFigureRaw.put("teamInnings", String.valueOf(bowlingFigure.getTeamInnings()));
+            bowlingFigures.add(bowlingFigureRaw);
+        }
+        request.put("bowlingFigures", bowlingFigures);
+
+        request.put("manOfTheMatchList", matchRepository.getManOfTheMatchList(matchId).stream().map(ManOfTheMatch::getPlayerId).collect(Collectors.toList()));
+        request.put("captains", matchRepository.getCaptainsForMatch(matchId).stream().map(Captain::getPlayerId).collect(Collectors.toList()));
+        request.put("wicketKeepers", matchRepository.getWicketKeepersForMatch(matchId).stream().map(WicketKeeper::getPlayerId).collect(Collectors.toList()));
+
+        return request;
+    }
+}
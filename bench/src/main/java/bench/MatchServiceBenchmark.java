@@ -0,0 +1,106 @@
+package bench;
+
+import models.Match;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import repositories.MatchRepository;
+import requests.matches.CreateRequest;
+import requests.matches.UpdateRequest;
+import responses.MatchResponse;
+import services.MatchService;
+import utils.Utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class MatchServiceBenchmark
+{
+    private static final long FUTURE_START_TIME = 4102444800000L;
+
+    @State(Scope.Benchmark)
+    public static class Scorecards
+    {
+        private final AtomicLong startTimeOffset = new AtomicLong();
+
+        public MatchService matchService;
+        public Map<String, Object> template;
+        public Long updateMatchId;
+
+        @Setup(Level.Trial)
+        public void setUp(AppState appState)
+        {
+            this.matchService = appState.instanceOf(MatchService.class);
+            this.updateMatchId = appState.matchIds[0];
+            this.template = MatchFixtures.scorecard(appState.instanceOf(MatchRepository.class), this.updateMatchId);
+        }
+
+        public CreateRequest nextCreateRequest()
+        {
+            Map<String, Object> request = new HashMap<>(this.template);
+            request.put("startTime", FUTURE_START_TIME + TimeUnit.MINUTES.toMillis(this.startTimeOffset.incrementAndGet()));
+            return Utils.convertObject(request, CreateRequest.class);
+        }
+
+        public UpdateRequest nextUpdateRequest()
+        {
+            Map<String, Object> request = new HashMap<>(this.template);
+            request.put("tag", "bench-" + (this.startTimeOffset.incrementAndGet() % 2));
+            return Utils.convertObject(request, UpdateRequest.class);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CreatedMatches
+    {
+        private final List<Long> ids = new ArrayList<>();
+
+        @TearDown(Level.Iteration)
+        public void tearDown(Scorecards scorecards)
+        {
+            for(Long id: this.ids)
+            {
+                scorecards.matchService.delete(id);
+            }
+            this.ids.clear();
+        }
+    }
+
+    @Benchmark
+    public MatchResponse matchResponse(AppState appState, Scorecards scorecards)
+    {
+        return scorecards.matchService.get(appState.nextMatchId());
+    }
+
+    @Benchmark
+    public Match create(Scorecards scorecards, CreatedMatches createdMatches)
+    {
+        Match match = scorecards.matchService.create(scorecards.nextCreateRequest(), null);
+        createdMatches.ids.add(match.getId());
+        return match;
+    }
+
+    @Benchmark
+    public Match update(Scorecards scorecards)
+    {
+        return scorecards.matchService.update(scorecards.updateMatchId, scorecards.nextUpdateRequest(), null);
+    }
+}
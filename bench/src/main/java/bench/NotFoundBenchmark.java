@@ -0,0 +1,102 @@
+package bench;
+
+import enums.ErrorCode;
+import exceptions.DBInteractionException;
+import exceptions.MyException;
+import exceptions.NotFoundException;
+import modules.ErrorHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import play.mvc.Http;
+import play.mvc.Result;
+import services.MatchService;
+import services.PlayerService;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class NotFoundBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Services
+    {
+        public MatchService matchService;
+        public PlayerService playerService;
+        public ErrorHandler errorHandler;
+        public Http.RequestHeader request;
+
+        @Setup(Level.Trial)
+        public void setUp(AppState appState)
+        {
+            this.matchService = appState.instanceOf(MatchService.class);
+            this.playerService = appState.instanceOf(PlayerService.class);
+            this.errorHandler = new ErrorHandler();
+            this.request = new Http.RequestBuilder().uri("/cricbuzz/players/0").build();
+        }
+    }
+
+    @Benchmark
+    public Object missingMatch(Services services)
+    {
+        try
+        {
+            return services.matchService.get(missingId());
+        }
+        catch(MyException ex)
+        {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object missingPlayer(Services services)
+    {
+        try
+        {
+            return services.playerService.get(missingId());
+        }
+        catch(MyException ex)
+        {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Result notFoundResponse(Services services)
+    {
+        NotFoundException exception = new NotFoundException(ErrorCode.NOT_FOUND.getCode(), String.format(ErrorCode.NOT_FOUND.getDescription(), "Player"));
+        return services.errorHandler.onServerError(services.request, new CompletionException(exception)).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public Object stacklessException()
+    {
+        return new NotFoundException(ErrorCode.NOT_FOUND.getCode(), ErrorCode.NOT_FOUND.getDescription());
+    }
+
+    @Benchmark
+    public Object stackTraceException()
+    {
+        return new DBInteractionException(ErrorCode.DB_INTERACTION_FAILED.getCode(), ErrorCode.DB_INTERACTION_FAILED.getDescription());
+    }
+
+    private static long missingId()
+    {
+        return -1L - ThreadLocalRandom.current().nextInt(1 << 20);
+    }
+}
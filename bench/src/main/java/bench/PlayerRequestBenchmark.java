@@ -0,0 +1,28 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import play.mvc.Result;
+import play.test.Helpers;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PlayerRequestBenchmark
+{
+    @Benchmark
+    public String getPlayer(AppState appState)
+    {
+        Result result = Helpers.route(appState.application, Helpers.fakeRequest("GET", "/cricbuzz/players/" + appState.nextPlayerId()));
+        return Helpers.contentAsString(result);
+    }
+}
@@ -0,0 +1,43 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import responses.PlayerResponse;
+import services.PlayerService;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PlayerServiceBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Services
+    {
+        public PlayerService playerService;
+
+        @Setup(Level.Trial)
+        public void setUp(AppState appState)
+        {
+            this.playerService = appState.instanceOf(PlayerService.class);
+        }
+    }
+
+    @Benchmark
+    public PlayerResponse playerStats(AppState appState, Services services)
+    {
+        return services.playerService.get(appState.nextPlayerId());
+    }
+}
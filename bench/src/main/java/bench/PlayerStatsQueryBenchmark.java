@@ -0,0 +1,55 @@
+package bench;
+
+import io.ebean.Ebean;
+import io.ebean.SqlRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerStatsQueryBenchmark
+{
+    private static final String[] JOINED = {
+        "SELECT dm.name AS dismissalMode, COUNT(*) AS count, s.game_type as gameType FROM `batting_scores` bs INNER JOIN dismissal_modes dm ON bs.player_id = %d AND bs.mode_of_dismissal IS NOT NULL and dm.id = bs.mode_of_dismissal and dm.name != 'Retired Hurt' inner join matches m on m.id = bs.match_id and m.is_official = 1 inner join series s on s.id = m.series inner join teams t on t.id = bs.team_id and t.team_type_id = 0 GROUP BY s.game_type, bs.mode_of_dismissal",
+        "SELECT COUNT(*) AS innings, SUM(runs) AS runs, SUM(balls) AS balls, SUM(fours) AS fours, SUM(sixes) AS sixes, MAX(runs) AS highest, s.game_type as gameType FROM `batting_scores` bs inner join matches m on player_id = %d and m.id = bs.match_id and m.is_official = 1 inner join series s on s.id = m.series inner join teams t on t.id = bs.team_id and t.team_type_id = 0 group by s.game_type",
+        "select dm.name as dismissalMode, count(*) as count, s.game_type as gameType from fielder_dismissals fd inner join batting_scores bs on bs.id = fd.score_id and fd.player_id = %d inner join dismissal_modes dm on dm.id = bs.mode_of_dismissal inner join matches m on m.id = bs.match_id and m.is_official = 1 inner join series s on s.id = m.series inner join teams t on t.id = fd.team_id and t.team_type_id = 0 group by s.game_type, bs.mode_of_dismissal",
+        "SELECT COUNT(*) AS innings, SUM(balls) AS balls, SUM(maidens) AS maidens, SUM(runs) AS runs, SUM(wickets) AS wickets, s.game_type AS gameType FROM bowling_figures bf INNER JOIN matches m ON bf.player_id = %d and m.id = bf.match_id INNER JOIN series s ON s.id = m.series and m.is_official = 1 inner join teams t on t.id = bf.team_id and t.team_type_id = 0 GROUP BY s.game_type"
+    };
+
+    private static final String[] DENORMALIZED = {
+        "SELECT dm.name AS dismissalMode, COUNT(*) AS count, bs.game_type as gameType FROM `batting_scores` bs INNER JOIN dismissal_modes dm ON dm.id = bs.mode_of_dismissal and dm.name != 'Retired Hurt' WHERE bs.player_id = %d AND bs.is_official = 1 AND bs.team_type_id = 0 AND bs.mode_of_dismissal IS NOT NULL GROUP BY bs.game_type, bs.mode_of_dismissal",
+        "SELECT COUNT(*) AS innings, SUM(runs) AS runs, SUM(balls) AS balls, SUM(fours) AS fours, SUM(sixes) AS sixes, MAX(runs) AS highest, bs.game_type as gameType FROM `batting_scores` bs WHERE bs.player_id = %d AND bs.is_official = 1 AND bs.team_type_id = 0 group by bs.game_type",
+        "select dm.name as dismissalMode, count(*) as count, fd.game_type as gameType from fielder_dismissals fd inner join batting_scores bs on bs.id = fd.score_id inner join dismissal_modes dm on dm.id = bs.mode_of_dismissal where fd.player_id = %d and fd.is_official = 1 and fd.team_type_id = 0 group by fd.game_type, bs.mode_of_dismissal",
+        "SELECT COUNT(*) AS innings, SUM(balls) AS balls, SUM(maidens) AS maidens, SUM(runs) AS runs, SUM(wickets) AS wickets, bf.game_type AS gameType FROM bowling_figures bf WHERE bf.player_id = %d AND bf.is_official = 1 AND bf.team_type_id = 0 GROUP BY bf.game_type"
+    };
+
+    @Param({"joined", "denormalized"})
+    public String schema;
+
+    @Benchmark
+    public void careerStats(AppState appState, Blackhole blackhole)
+    {
+        long playerId = appState.nextPlayerId();
+        for(String query: ("joined".equals(this.schema) ? JOINED : DENORMALIZED))
+        {
+            List<SqlRow> rows = Ebean.createSqlQuery(String.format(query, playerId)).findList();
+            blackhole.consume(rows);
+        }
+    }
+}
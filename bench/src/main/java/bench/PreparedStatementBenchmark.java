@@ -0,0 +1,108 @@
+package bench;
+
+import database.NamedQuery;
+import database.SqlExecutor;
+import io.ebean.Ebean;
+import io.ebean.SqlRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreparedStatementBenchmark
+{
+    private static final NamedQuery[] QUERIES = {
+        NamedQuery.PLAYER_DISMISSAL_STATS,
+        NamedQuery.PLAYER_BATTING_STATS,
+        NamedQuery.PLAYER_FIELDING_STATS,
+        NamedQuery.PLAYER_BOWLING_STATS
+    };
+
+    private static final String[] COUNTERS = {"Com_stmt_prepare", "Com_stmt_execute", "Com_stmt_close", "Com_select"};
+
+    @Param({"literal", "bound"})
+    public String statement;
+
+    private SqlExecutor sqlExecutor;
+    private Map<String, Long> before;
+
+    @Setup(Level.Trial)
+    public void setUp(AppState appState)
+    {
+        this.sqlExecutor = appState.instanceOf(SqlExecutor.class);
+        this.before = counters();
+    }
+
+    // Server side prepares and plain selects per run: literal SQL is parsed and planned on every call,
+    // bound statements are prepared once per pooled connection and only executed afterwards.
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        Map<String, Long> after = counters();
+        for(String counter: COUNTERS)
+        {
+            System.out.println(this.statement + " " + counter + ": " + (after.get(counter) - this.before.get(counter)));
+        }
+    }
+
+    @Benchmark
+    public void careerStats(AppState appState, Blackhole blackhole) throws Exception
+    {
+        long playerId = appState.nextPlayerId();
+        for(NamedQuery query: QUERIES)
+        {
+            if("literal".equals(this.statement))
+            {
+                List<SqlRow> rows = Ebean.createSqlQuery(query.getSql().replace("?", Long.toString(playerId))).findList();
+                blackhole.consume(rows);
+            }
+            else
+            {
+                this.sqlExecutor.forEach(query, resultSet -> blackhole.consume(resultSet.getInt("gameType")), playerId);
+            }
+        }
+    }
+
+    private static Map<String, Long> counters()
+    {
+        Map<String, Long> counters = new HashMap<>();
+        for(String counter: COUNTERS)
+        {
+            SqlRow row = Ebean.createSqlQuery("SHOW GLOBAL STATUS LIKE '" + counter + "'").findOne();
+            long value = 0L;
+            if(null != row)
+            {
+                for(Map.Entry<String, Object> entry: row.entrySet())
+                {
+                    if("value".equalsIgnoreCase(entry.getKey()))
+                    {
+                        value = Long.parseLong(String.valueOf(entry.getValue()));
+                    }
+                }
+            }
+            counters.put(counter, value);
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,54 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import play.libs.Json;
+import repositories.MatchRepository;
+import requests.matches.CreateRequest;
+import utils.Utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestBindingBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Body
+    {
+        public byte[] bytes;
+
+        @Setup(Level.Trial)
+        public void setUp(AppState appState)
+        {
+            MatchRepository matchRepository = appState.instanceOf(MatchRepository.class);
+            this.bytes = Json.stringify(Json.toJson(MatchFixtures.scorecard(matchRepository, appState.matchIds[0]))).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public CreateRequest treeThenConvert(Body body)
+    {
+        return Utils.convertObject(Json.parse(body.bytes), CreateRequest.class);
+    }
+
+    @Benchmark
+    public CreateRequest cachedReader(Body body) throws IOException
+    {
+        return Utils.readerFor(CreateRequest.class).readValue(body.bytes);
+    }
+}
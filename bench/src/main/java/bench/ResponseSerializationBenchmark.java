@@ -0,0 +1,105 @@
+package bench;
+
+import akka.stream.Materializer;
+import enums.ResponseFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import play.libs.Json;
+import services.MatchService;
+import services.SeriesService;
+import services.StadiumService;
+import services.TeamService;
+import utils.ResponseEncoder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResponseSerializationBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Payload
+    {
+        @Param({"match", "series", "teams", "stadiums"})
+        public String endpoint;
+
+        public Object value;
+        public List<?> values;
+        public Materializer materializer;
+
+        @Setup(Level.Trial)
+        public void setUp(AppState appState)
+        {
+            switch(this.endpoint)
+            {
+                case "match":
+                    this.value = appState.instanceOf(MatchService.class).get(appState.matchIds[0]);
+                    break;
+                case "series":
+                    Long seriesId = appState.instanceOf(MatchService.class).get(appState.matchIds[0]).getSeries();
+                    this.value = appState.instanceOf(SeriesService.class).get(seriesId);
+                    break;
+                case "teams":
+                    this.value = appState.instanceOf(TeamService.class).getAll().toCompletableFuture().join();
+                    break;
+                default:
+                    this.value = appState.instanceOf(StadiumService.class).getAll().toCompletableFuture().join();
+            }
+            this.values = (this.value instanceof List) ? (List<?>) this.value : Collections.singletonList(this.value);
+            this.materializer = appState.instanceOf(Materializer.class);
+
+            System.out.println("payload bytes endpoint=" + this.endpoint
+                + " json=" + ResponseEncoder.toBytes(ResponseFormat.JSON, this.value).length
+                + " cbor=" + ResponseEncoder.toBytes(ResponseFormat.CBOR, this.value).length
+                + " smile=" + ResponseEncoder.toBytes(ResponseFormat.SMILE, this.value).length);
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonTree(Payload payload)
+    {
+        return Json.stringify(Json.toJson(payload.value)).getBytes();
+    }
+
+    @Benchmark
+    public byte[] json(Payload payload)
+    {
+        return ResponseEncoder.toBytes(ResponseFormat.JSON, payload.value);
+    }
+
+    @Benchmark
+    public Integer jsonChunked(Payload payload)
+    {
+        return ResponseEncoder.stream(payload.values)
+            .runFold(0, (size, chunk) -> size + chunk.size(), payload.materializer)
+            .toCompletableFuture()
+            .join();
+    }
+
+    @Benchmark
+    public byte[] cbor(Payload payload)
+    {
+        return ResponseEncoder.toBytes(ResponseFormat.CBOR, payload.value);
+    }
+
+    @Benchmark
+    public byte[] smile(Payload payload)
+    {
+        return ResponseEncoder.toBytes(ResponseFormat.SMILE, payload.value);
+    }
+}
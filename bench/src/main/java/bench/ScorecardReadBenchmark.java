@@ -0,0 +1,67 @@
+package bench;
+
+import io.ebean.Ebean;
+import models.BattingScore;
+import models.BowlingFigure;
+import models.Extras;
+import models.MatchPlayerMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import repositories.MatchRepository;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScorecardReadBenchmark
+{
+    @Param({"entity", "dto"})
+    public String read;
+
+    private MatchRepository matchRepository;
+    private long[] matchIds;
+
+    // The largest scorecards (most batting rows, e.g. test matches), where per-row entity overhead dominates.
+    @Setup(Level.Trial)
+    public void setUp(AppState appState)
+    {
+        this.matchRepository = appState.instanceOf(MatchRepository.class);
+        this.matchIds = Ebean.createSqlQuery("SELECT match_id FROM batting_scores GROUP BY match_id ORDER BY COUNT(*) DESC LIMIT 32").findList().stream().mapToLong(row -> row.getLong("match_id")).toArray();
+    }
+
+    @Benchmark
+    public void scorecard(Blackhole blackhole)
+    {
+        long matchId = this.matchIds[ThreadLocalRandom.current().nextInt(this.matchIds.length)];
+        if("entity".equals(this.read))
+        {
+            blackhole.consume(Ebean.find(BattingScore.class).where().eq("matchId", matchId).orderBy("id ASC").setUseQueryCache(false).findList());
+            blackhole.consume(Ebean.find(BowlingFigure.class).where().eq("matchId", matchId).orderBy("id ASC").setUseQueryCache(false).findList());
+            blackhole.consume(Ebean.find(Extras.class).where().eq("matchId", matchId).orderBy("id ASC").setUseQueryCache(false).findList());
+            blackhole.consume(Ebean.find(MatchPlayerMap.class).where().eq("matchId", matchId).orderBy("id ASC").setUseQueryCache(false).findList());
+        }
+        else
+        {
+            blackhole.consume(this.matchRepository.getBattingScoreRows(matchId));
+            blackhole.consume(this.matchRepository.getBowlingFigureRows(matchId));
+            blackhole.consume(this.matchRepository.getExtrasRows(matchId));
+            blackhole.consume(this.matchRepository.getPlayerRows(matchId));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package bench.data;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CsvSink implements TableSink
+{
+    private final Path directory;
+    private final Map<String, BufferedWriter> writers = new HashMap<>();
+
+    public CsvSink(Path directory) throws IOException
+    {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public void row(String table, Object... values) throws IOException
+    {
+        BufferedWriter writer = this.writers.get(table);
+        if(null == writer)
+        {
+            writer = Files.newBufferedWriter(this.directory.resolve(table + ".csv"), StandardCharsets.UTF_8);
+            this.writers.put(table, writer);
+        }
+
+        for(int i = 0; i < values.length; i++)
+        {
+            if(i > 0)
+            {
+                writer.write(',');
+            }
+            writer.write(field(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        for(BufferedWriter writer: this.writers.values())
+        {
+            writer.close();
+        }
+
+        try(PrintWriter script = new PrintWriter(Files.newBufferedWriter(this.directory.resolve("load.sql"), StandardCharsets.UTF_8)))
+        {
+            script.println("SET FOREIGN_KEY_CHECKS = 0;");
+            script.println("SET UNIQUE_CHECKS = 0;");
+            for(Map.Entry<String, String[]> table: Tables.COLUMNS.entrySet())
+            {
+                if(this.writers.containsKey(table.getKey()))
+                {
+                    script.println("LOAD DATA LOCAL INFILE '" + this.directory.resolve(table.getKey() + ".csv").toAbsolutePath() + "' INTO TABLE `" + table.getKey() + "`"
+                        + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'"
+                        + " (`" + String.join("`, `", table.getValue()) + "`);");
+                }
+            }
+            script.println("SET UNIQUE_CHECKS = 1;");
+            script.println("SET FOREIGN_KEY_CHECKS = 1;");
+        }
+    }
+
+    private static String field(Object value)
+    {
+        if(null == value)
+        {
+            return "\\N";
+        }
+        if(value instanceof Boolean)
+        {
+            return ((Boolean) value) ? "1" : "0";
+        }
+        if(value instanceof String)
+        {
+            return "\"" + ((String) value).replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,295 @@
+package bench.data;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+public class DatasetGenerator
+{
+    private static final String[] GAME_TYPES = {"ODI", "TEST", "T20"};
+    private static final int ODI = 0;
+    private static final int TEST = 1;
+
+    private static final int BOWLED = 1;
+    private static final int CAUGHT = 2;
+    private static final int LBW = 3;
+    private static final int RUN_OUT = 4;
+    private static final int STUMPED = 5;
+    private static final int[] DISMISSAL_WEIGHTS = {BOWLED, BOWLED, CAUGHT, CAUGHT, CAUGHT, CAUGHT, CAUGHT, LBW, LBW, RUN_OUT, STUMPED};
+
+    private static final int SQUAD_SIZE = 40;
+    private static final int XI = 11;
+
+    private final SplittableRandom random;
+    private final TableSink sink;
+    private final int countries;
+    private final int playersPerCountry;
+    private final int stadiumsPerCountry;
+
+    private long teamId = 0;
+    private long playerId = 0;
+    private long stadiumId = 0;
+    private long tourId = 0;
+    private long seriesId = 0;
+    private long seriesTeamId = 0;
+    private long manOfTheSeriesId = 0;
+    private long matchId = 0;
+    private long matchPlayerId = 0;
+    private long captainId = 0;
+    private long wicketKeeperId = 0;
+    private long manOfTheMatchId = 0;
+    private long extrasId = 0;
+    private long bowlerDismissalId = 0;
+    private long battingScoreId = 0;
+    private long fielderDismissalId = 0;
+    private long bowlingFigureId = 0;
+
+    private long clock = 946684800000L;
+
+    private long[] internationalTeams;
+    private long[][] squads;
+
+    public DatasetGenerator(long seed, TableSink sink, int countries, int playersPerCountry, int stadiumsPerCountry)
+    {
+        this.random = new SplittableRandom(seed);
+        this.sink = sink;
+        this.countries = countries;
+        this.playersPerCountry = Math.max(playersPerCountry, SQUAD_SIZE);
+        this.stadiumsPerCountry = stadiumsPerCountry;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        long seed = Long.getLong("seed", 42L);
+        int matches = Integer.getInteger("matches", 10000);
+        int countries = Integer.getInteger("countries", 16);
+        int players = Integer.getInteger("playersPerCountry", 400);
+        int stadiums = Integer.getInteger("stadiumsPerCountry", 12);
+        String url = System.getProperty("jdbc.url");
+
+        long start = System.nanoTime();
+        try(TableSink sink = (null != url)
+            ? new JdbcSink(url, System.getProperty("jdbc.user", "root"), System.getProperty("jdbc.password", ""))
+            : new CsvSink(Paths.get(System.getProperty("out", "target/dataset"))))
+        {
+            new DatasetGenerator(seed, sink, countries, players, stadiums).generate(matches);
+        }
+        System.out.println("Generated " + matches + " matches with seed " + seed + " in " + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) + "s");
+    }
+
+    public void generate(int matches) throws Exception
+    {
+        this.internationalTeams = new long[this.countries];
+        this.squads = new long[this.countries][];
+
+        for(int country = 1; country <= this.countries; country++)
+        {
+            this.sink.row("countries", (long) country, "Country " + country);
+
+            this.internationalTeams[country - 1] = ++this.teamId;
+            this.sink.row("teams", this.teamId, "Country " + country, (long) country, 0);
+            for(int domestic = 1; domestic <= 4; domestic++)
+            {
+                this.sink.row("teams", ++this.teamId, "Country " + country + " Domestic " + domestic, (long) country, 1);
+            }
+
+            long[] squad = new long[SQUAD_SIZE];
+            for(int player = 1; player <= this.playersPerCountry; player++)
+            {
+                long dateOfBirth = 315532800000L + this.random.nextLong(TimeUnit.DAYS.toMillis(365L * 25));
+                this.sink.row("players", ++this.playerId, "Player " + country + "-" + player, (long) country, dateOfBirth, "");
+                if(player <= SQUAD_SIZE)
+                {
+                    squad[player - 1] = this.playerId;
+                }
+            }
+            this.squads[country - 1] = squad;
+
+            for(int stadium = 1; stadium <= this.stadiumsPerCountry; stadium++)
+            {
+                this.sink.row("stadiums", ++this.stadiumId, "Stadium " + country + "-" + stadium, "City " + country + "-" + stadium, null, (long) country);
+            }
+        }
+
+        int generated = 0;
+        while(generated < matches)
+        {
+            generated += this.tour(matches - generated);
+        }
+    }
+
+    private int tour(int remaining) throws Exception
+    {
+        int home = this.random.nextInt(this.countries);
+        int away = (home + 1 + this.random.nextInt(this.countries - 1)) % this.countries;
+
+        this.clock += TimeUnit.DAYS.toMillis(1 + this.random.nextInt(10));
+        long tourStart = this.clock;
+        int year = Instant.ofEpochMilli(tourStart).atZone(ZoneOffset.UTC).getYear();
+        this.sink.row("tours", ++this.tourId, "Country " + (away + 1) + " tour of Country " + (home + 1) + " " + this.tourId, tourStart, year);
+
+        int generated = 0;
+        for(int gameType = 0; (gameType < GAME_TYPES.length) && (generated < remaining); gameType++)
+        {
+            if(this.random.nextInt(4) == 0)
+            {
+                continue;
+            }
+            int matchCount = Math.min(remaining - generated, ((TEST == gameType) ? 2 : 3) + this.random.nextInt(3));
+            this.series(home, away, gameType, matchCount);
+            generated += matchCount;
+        }
+        return generated;
+    }
+
+    private void series(int home, int away, int gameType, int matchCount) throws Exception
+    {
+        long series = ++this.seriesId;
+        long homeTeam = this.internationalTeams[home];
+        long awayTeam = this.internationalTeams[away];
+        this.sink.row("series", series, "Country " + (away + 1) + " v Country " + (home + 1) + " " + GAME_TYPES[gameType] + " Series", (long) (home + 1), this.tourId, 0, gameType, this.clock);
+        this.sink.row("series_teams_map", ++this.seriesTeamId, series, homeTeam);
+        this.sink.row("series_teams_map", ++this.seriesTeamId, series, awayTeam);
+
+        long[] homeXi = this.pickXi(home);
+        long[] awayXi = this.pickXi(away);
+        for(int match = 0; match < matchCount; match++)
+        {
+            this.clock += TimeUnit.DAYS.toMillis((TEST == gameType) ? 6 : 2);
+            long stadium = (long) home * this.stadiumsPerCountry + 1 + this.random.nextInt(this.stadiumsPerCountry);
+            this.match(series, gameType, stadium, homeTeam, homeXi, awayTeam, awayXi);
+        }
+
+        boolean homeWins = this.random.nextBoolean();
+        this.sink.row("man_of_the_series", ++this.manOfTheSeriesId, series, homeWins ? homeXi[0] : awayXi[0], homeWins ? homeTeam : awayTeam);
+    }
+
+    private void match(long series, int gameType, long stadium, long team1, long[] xi1, long team2, long[] xi2) throws Exception
+    {
+        long match = ++this.matchId;
+        long tossWinner = this.random.nextBoolean() ? team1 : team2;
+        long batFirst = this.random.nextBoolean() ? team1 : team2;
+        long winner = this.random.nextBoolean() ? team1 : team2;
+        boolean byRuns = (winner == batFirst);
+        int winMargin = byRuns ? 1 + this.random.nextInt(150) : 1 + this.random.nextInt(10);
+        this.sink.row("matches", match, series, team1, team2, tossWinner, batFirst, 0, winner, winMargin, byRuns ? 0 : 1, stadium, this.clock, GAME_TYPES[gameType].toLowerCase() + "-" + match, true);
+
+        for(int i = 0; i < XI; i++)
+        {
+            this.sink.row("match_player_map", ++this.matchPlayerId, match, xi1[i], team1);
+            this.sink.row("match_player_map", ++this.matchPlayerId, match, xi2[i], team2);
+        }
+        this.sink.row("captains", ++this.captainId, match, xi1[0], team1);
+        this.sink.row("captains", ++this.captainId, match, xi2[0], team2);
+        this.sink.row("wicket_keepers", ++this.wicketKeeperId, match, xi1[1], team1);
+        this.sink.row("wicket_keepers", ++this.wicketKeeperId, match, xi2[1], team2);
+        this.sink.row("man_of_the_match", ++this.manOfTheMatchId, match, (winner == team1) ? xi1[2] : xi2[2], winner);
+
+        long battingFirst = batFirst;
+        long battingSecond = (batFirst == team1) ? team2 : team1;
+        long[] firstXi = (batFirst == team1) ? xi1 : xi2;
+        long[] secondXi = (batFirst == team1) ? xi2 : xi1;
+
+        int inningsCount = (TEST == gameType) ? 4 : 2;
+        for(int innings = 1; innings <= inningsCount; innings++)
+        {
+            boolean firstBats = (innings % 2 == 1);
+            int teamInnings = (innings + 1) / 2;
+            this.innings(match, gameType, innings, teamInnings,
+                firstBats ? battingFirst : battingSecond, firstBats ? firstXi : secondXi,
+                firstBats ? battingSecond : battingFirst, firstBats ? secondXi : firstXi);
+        }
+    }
+
+    private void innings(long match, int gameType, int innings, int teamInnings, long battingTeam, long[] batters, long bowlingTeam, long[] fielders) throws Exception
+    {
+        int ballsPerBowlerCap = (ODI == gameType) ? 60 : ((TEST == gameType) ? 300 : 24);
+        int bowlerCount = 5;
+        int[] wickets = new int[bowlerCount];
+
+        int batted = 2 + this.random.nextInt(XI - 1);
+        int dismissed = Math.min(batted, 10);
+        if(batted < XI)
+        {
+            dismissed = batted - 1 + this.random.nextInt(2);
+        }
+
+        for(int i = 0; i < batted; i++)
+        {
+            int balls = 1 + this.random.nextInt((TEST == gameType) ? 250 : 80);
+            int runs = this.random.nextInt(Math.max(1, (int) (balls * ((TEST == gameType) ? 0.6 : 1.3))));
+            int fours = runs / 12;
+            int sixes = (TEST == gameType) ? 0 : runs / 30;
+
+            Integer mode = null;
+            Long bowlerDismissal = null;
+            long[] dismissalFielders = new long[0];
+            if(i < dismissed)
+            {
+                mode = DISMISSAL_WEIGHTS[this.random.nextInt(DISMISSAL_WEIGHTS.length)];
+                if(RUN_OUT != mode)
+                {
+                    int bowler = this.random.nextInt(bowlerCount);
+                    wickets[bowler]++;
+                    bowlerDismissal = ++this.bowlerDismissalId;
+                    this.sink.row("bowler_dismissals", bowlerDismissal, fielders[XI - 1 - bowler], bowlingTeam);
+                }
+                if(STUMPED == mode)
+                {
+                    dismissalFielders = new long[]{fielders[1]};
+                }
+                else if(CAUGHT == mode)
+                {
+                    dismissalFielders = new long[]{fielders[this.random.nextInt(XI)]};
+                }
+                else if(RUN_OUT == mode)
+                {
+                    dismissalFielders = new long[]{fielders[this.random.nextInt(XI)]};
+                }
+            }
+
+            long score = ++this.battingScoreId;
+            this.sink.row("batting_scores", score, match, batters[i], battingTeam, runs, balls, fours, sixes, mode, bowlerDismissal, innings, teamInnings, gameType, true, 0);
+            for(long fielder: dismissalFielders)
+            {
+                this.sink.row("fielder_dismissals", ++this.fielderDismissalId, score, fielder, bowlingTeam, gameType, true, 0);
+            }
+        }
+
+        for(int bowler = 0; bowler < bowlerCount; bowler++)
+        {
+            int balls = 6 * (1 + this.random.nextInt(ballsPerBowlerCap / 6));
+            int runs = (int) (balls * (0.5 + this.random.nextDouble()));
+            this.sink.row("bowling_figures", ++this.bowlingFigureId, match, fielders[XI - 1 - bowler], bowlingTeam, balls, this.random.nextInt(1 + balls / 24), runs, wickets[bowler], innings, teamInnings, gameType, true, 0);
+        }
+
+        for(int type = 0; type < 4; type++)
+        {
+            if(this.random.nextBoolean())
+            {
+                this.sink.row("extras", ++this.extrasId, match, type, 1 + this.random.nextInt(12), battingTeam, bowlingTeam, innings, teamInnings);
+            }
+        }
+    }
+
+    private long[] pickXi(int country)
+    {
+        long[] squad = this.squads[country];
+        List<Long> pool = new ArrayList<>(SQUAD_SIZE);
+        for(long player: squad)
+        {
+            pool.add(player);
+        }
+
+        long[] xi = new long[XI];
+        for(int i = 0; i < XI; i++)
+        {
+            xi[i] = pool.remove(this.random.nextInt(pool.size()));
+        }
+        return xi;
+    }
+}
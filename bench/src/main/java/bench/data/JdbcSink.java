@@ -0,0 +1,85 @@
+package bench.data;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class JdbcSink implements TableSink
+{
+    private static final int BATCH_SIZE = 2000;
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private final Map<String, Integer> pending = new HashMap<>();
+
+    public JdbcSink(String url, String user, String password) throws SQLException
+    {
+        this.connection = DriverManager.getConnection(url, user, password);
+        this.connection.setAutoCommit(false);
+        try(Statement statement = this.connection.createStatement())
+        {
+            statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+            statement.execute("SET UNIQUE_CHECKS = 0");
+        }
+    }
+
+    @Override
+    public void row(String table, Object... values) throws SQLException
+    {
+        PreparedStatement statement = this.statements.get(table);
+        if(null == statement)
+        {
+            String[] columns = Tables.COLUMNS.get(table);
+            String sql = "INSERT INTO `" + table + "` (`" + String.join("`, `", columns) + "`) VALUES (" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+            statement = this.connection.prepareStatement(sql);
+            this.statements.put(table, statement);
+        }
+
+        for(int i = 0; i < values.length; i++)
+        {
+            statement.setObject(i + 1, values[i]);
+        }
+        statement.addBatch();
+
+        int count = this.pending.merge(table, 1, Integer::sum);
+        if(count >= BATCH_SIZE)
+        {
+            statement.executeBatch();
+            this.connection.commit();
+            this.pending.put(table, 0);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException
+    {
+        try
+        {
+            for(Map.Entry<String, String[]> table: Tables.COLUMNS.entrySet())
+            {
+                PreparedStatement statement = this.statements.get(table.getKey());
+                if(null != statement)
+                {
+                    statement.executeBatch();
+                    statement.close();
+                }
+            }
+            this.connection.commit();
+
+            try(Statement statement = this.connection.createStatement())
+            {
+                statement.execute("SET UNIQUE_CHECKS = 1");
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+        }
+        finally
+        {
+            this.connection.close();
+        }
+    }
+}
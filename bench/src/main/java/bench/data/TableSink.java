@@ -0,0 +1,9 @@
+package bench.data;
+
+public interface TableSink extends AutoCloseable
+{
+    void row(String table, Object... values) throws Exception;
+
+    @Override
+    void close() throws Exception;
+}
@@ -0,0 +1,31 @@
+package bench.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Tables
+{
+    public static final Map<String, String[]> COLUMNS = new LinkedHashMap<>();
+
+    static
+    {
+        COLUMNS.put("countries", new String[]{"id", "name"});
+        COLUMNS.put("teams", new String[]{"id", "name", "country_id", "team_type_id"});
+        COLUMNS.put("players", new String[]{"id", "name", "country_id", "date_of_birth", "image"});
+        COLUMNS.put("stadiums", new String[]{"id", "name", "city", "state", "country_id"});
+        COLUMNS.put("tours", new String[]{"id", "name", "start_time", "year"});
+        COLUMNS.put("series", new String[]{"id", "name", "home_country_id", "tour_id", "type", "game_type", "start_time"});
+        COLUMNS.put("series_teams_map", new String[]{"id", "series_id", "team_id"});
+        COLUMNS.put("man_of_the_series", new String[]{"id", "series_id", "player_id", "team_id"});
+        COLUMNS.put("matches", new String[]{"id", "series", "team_1", "team_2", "toss_winner", "bat_first", "result", "winner", "win_margin", "win_margin_type", "stadium", "start_time", "tag", "is_official"});
+        COLUMNS.put("match_player_map", new String[]{"id", "match_id", "player_id", "team_id"});
+        COLUMNS.put("captains", new String[]{"id", "match_id", "player_id", "team_id"});
+        COLUMNS.put("wicket_keepers", new String[]{"id", "match_id", "player_id", "team_id"});
+        COLUMNS.put("man_of_the_match", new String[]{"id", "match_id", "player_id", "team_id"});
+        COLUMNS.put("extras", new String[]{"id", "match_id", "type", "runs", "batting_team", "bowling_team", "innings_id", "team_innings_id"});
+        COLUMNS.put("bowler_dismissals", new String[]{"id", "player_id", "team_id"});
+        COLUMNS.put("batting_scores", new String[]{"id", "match_id", "player_id", "team_id", "runs", "balls", "fours", "sixes", "mode_of_dismissal", "bowler_id", "innings_id", "team_innings_id", "game_type", "is_official", "team_type_id"});
+        COLUMNS.put("fielder_dismissals", new String[]{"id", "score_id", "player_id", "team_id", "game_type", "is_official", "team_type_id"});
+        COLUMNS.put("bowling_figures", new String[]{"id", "match_id", "player_id", "team_id", "balls", "maidens", "runs", "wickets", "innings_id", "team_innings_id", "game_type", "is_official", "team_type_id"});
+    }
+}
@@ -0,0 +1,144 @@
+package bench;
+
+import database.DatabaseRouter;
+import database.ReadConsistency;
+import io.ebean.Transaction;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import play.Application;
+import play.inject.guice.GuiceApplicationBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+// db.default and db.replica on two separate embedded servers, so the server's port tells which one a statement ran on.
+// The second server does not replicate, so once the lag probe has run it serves every read the router lets it have
+public class ReplicaRoutingTest
+{
+    private static final long PROBE_TIMEOUT_MILLIS = 10000L;
+
+    private static EmbeddedDatabase primary;
+    private static EmbeddedDatabase replica;
+    private static Application application;
+    private static DatabaseRouter router;
+
+    @BeforeClass
+    public static void start() throws Exception
+    {
+        primary = EmbeddedDatabase.start(0L, 0);
+        replica = EmbeddedDatabase.start(0L, 0);
+
+        Map<String, Object> configuration = new HashMap<>();
+        for(String server: new String[]{"default", "replica", "analytics"})
+        {
+            EmbeddedDatabase database = "default".equals(server) ? primary : replica;
+            configuration.put("db." + server + ".url", database.getUrl());
+            configuration.put("db." + server + ".user", EmbeddedDatabase.USER);
+            configuration.put("db." + server + ".password", EmbeddedDatabase.PASSWORD);
+        }
+        configuration.put("replica.enabled", true);
+        configuration.put("replica.lagProbeInterval", "100 ms");
+
+        application = new GuiceApplicationBuilder().configure(configuration).build();
+        router = application.injector().instanceOf(DatabaseRouter.class);
+
+        long deadline = System.currentTimeMillis() + PROBE_TIMEOUT_MILLIS;
+        while((replica.getPort() != ReadConsistency.REPLICA.supply(ReplicaRoutingTest::readPort)) && (System.currentTimeMillis() < deadline))
+        {
+            Thread.sleep(50L);
+        }
+    }
+
+    @AfterClass
+    public static void stop()
+    {
+        if(null != application)
+        {
+            play.api.Play.stop(application.asScala());
+        }
+        if(null != replica)
+        {
+            replica.stop();
+        }
+        if(null != primary)
+        {
+            primary.stop();
+        }
+    }
+
+    @Test
+    public void replicaReadsGoToTheReplicaOnceProbed()
+    {
+        assertEquals(replica.getPort(), (int) ReadConsistency.REPLICA.supply(ReplicaRoutingTest::readPort));
+        assertEquals(replica.getPort(), (int) ReadConsistency.REPLICA.supply(() -> port(router.forRead().createSqlQuery("SELECT @@port AS port").findOne().getInteger("port"))));
+    }
+
+    @Test
+    public void readsOutsideARequestAndStrongReadsStayOnThePrimary()
+    {
+        assertEquals(primary.getPort(), readPort());
+        assertEquals(primary.getPort(), (int) ReadConsistency.PRIMARY.supply(ReplicaRoutingTest::readPort));
+    }
+
+    @Test
+    public void readsInsideAnOpenTransactionStayOnThePrimary()
+    {
+        ReadConsistency.REPLICA.supply(() -> {
+            Transaction transaction = router.server().beginTransaction();
+            try
+            {
+                assertEquals(primary.getPort(), readPort());
+            }
+            finally
+            {
+                transaction.end();
+            }
+            assertEquals(replica.getPort(), readPort());
+            return null;
+        });
+    }
+
+    @Test
+    public void writesGoToThePrimary() throws Exception
+    {
+        String key = "replica-routing-" + System.nanoTime();
+        int inserted = ReadConsistency.REPLICA.supply(() -> router.server()
+            .createSqlUpdate("INSERT INTO `idempotency_keys` (`idempotency_key`, `operation`, `request_hash`, `created_at`) VALUES (:key, 'ReplicaRoutingTest', '', 0)")
+            .setParameter("key", key)
+            .execute());
+
+        assertEquals(1, inserted);
+        assertEquals(1, count(primary, key));
+        assertEquals(0, count(replica, key));
+    }
+
+    private static int readPort()
+    {
+        return port(router.server().createSqlQuery("SELECT @@port AS port").findOne().getInteger("port"));
+    }
+
+    private static int port(Integer port)
+    {
+        return (null == port) ? -1 : port;
+    }
+
+    private static int count(EmbeddedDatabase database, String key) throws Exception
+    {
+        try(Connection connection = DriverManager.getConnection(database.getUrl(), EmbeddedDatabase.USER, EmbeddedDatabase.PASSWORD); PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM `idempotency_keys` WHERE `idempotency_key` = ?"))
+        {
+            statement.setString(1, key);
+            try(ResultSet resultSet = statement.executeQuery())
+            {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+ALTER TABLE `tours` ADD `year` SMALLINT UNSIGNED NOT NULL DEFAULT 0 AFTER `start_time`;
+
+UPDATE `tours` SET `year` = YEAR(DATE_ADD('1970-01-01', INTERVAL (`start_time` DIV 1000) SECOND));
+
+ALTER TABLE `tours` ADD INDEX `year_start_time` (`year`, `start_time`);
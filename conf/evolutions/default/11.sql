@@ -0,0 +1,39 @@
+ALTER TABLE `batting_scores` ADD `game_type` INT UNSIGNED NOT NULL DEFAULT 0, ADD `is_official` TINYINT(1) NOT NULL DEFAULT 1, ADD `team_type_id` INT UNSIGNED NOT NULL DEFAULT 0;
+
+ALTER TABLE `bowling_figures` ADD `game_type` INT UNSIGNED NOT NULL DEFAULT 0, ADD `is_official` TINYINT(1) NOT NULL DEFAULT 1, ADD `team_type_id` INT UNSIGNED NOT NULL DEFAULT 0;
+
+ALTER TABLE `fielder_dismissals` ADD `game_type` INT UNSIGNED NOT NULL DEFAULT 0, ADD `is_official` TINYINT(1) NOT NULL DEFAULT 1, ADD `team_type_id` INT UNSIGNED NOT NULL DEFAULT 0;
+
+UPDATE `batting_scores` bs INNER JOIN `matches` m ON m.id = bs.match_id INNER JOIN `series` s ON s.id = m.series INNER JOIN `teams` t ON t.id = bs.team_id SET bs.game_type = s.game_type, bs.is_official = m.is_official, bs.team_type_id = t.team_type_id;
+
+UPDATE `bowling_figures` bf INNER JOIN `matches` m ON m.id = bf.match_id INNER JOIN `series` s ON s.id = m.series INNER JOIN `teams` t ON t.id = bf.team_id SET bf.game_type = s.game_type, bf.is_official = m.is_official, bf.team_type_id = t.team_type_id;
+
+UPDATE `fielder_dismissals` fd INNER JOIN `batting_scores` bs ON bs.id = fd.score_id INNER JOIN `matches` m ON m.id = bs.match_id INNER JOIN `series` s ON s.id = m.series INNER JOIN `teams` t ON t.id = fd.team_id SET fd.game_type = s.game_type, fd.is_official = m.is_official, fd.team_type_id = t.team_type_id;
+
+ALTER TABLE `batting_scores` ADD INDEX `ix_bs_player_stats` (`player_id`, `game_type`, `is_official`, `team_type_id`, `mode_of_dismissal`, `runs`, `balls`, `fours`, `sixes`);
+
+ALTER TABLE `bowling_figures` ADD INDEX `ix_bf_player_stats` (`player_id`, `game_type`, `is_official`, `team_type_id`, `balls`, `maidens`, `runs`, `wickets`);
+
+ALTER TABLE `fielder_dismissals` ADD INDEX `ix_fd_player_stats` (`player_id`, `game_type`, `is_official`, `team_type_id`, `score_id`);
+
+ALTER TABLE `batting_scores` ADD INDEX `ix_bs_game_type_player` (`game_type`, `team_type_id`, `player_id`);
+
+ALTER TABLE `bowling_figures` ADD INDEX `ix_bf_game_type_player` (`game_type`, `team_type_id`, `player_id`);
+
+ALTER TABLE `fielder_dismissals` ADD INDEX `ix_fd_game_type_player` (`game_type`, `team_type_id`, `player_id`);
+
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `ODI Catches` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Caught')))) where (`fd`.`game_type` = 0) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `ODI Run Outs` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Run Out')))) where (`fd`.`game_type` = 0) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `ODI Stumpings` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Stumped')))) where (`fd`.`game_type` = 0) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `ODI Runs` AS select `p`.`id`, `p`.`name` AS `name`,sum(`bs`.`runs`) AS `runs`,count(0) AS `innings`,sum(`bs`.`balls`) AS `balls`,sum(`bs`.`fours`) AS `fours`,sum(`bs`.`sixes`) AS `sixes`,max(`bs`.`runs`) AS `highest`,count((case when (`bs`.`mode_of_dismissal` is null) then 1 end)) AS `notouts`,count((case when ((`bs`.`runs` >= 50) and (`bs`.`runs` < 100)) then 1 end)) AS `fifties`,count((case when ((`bs`.`runs` >= 100) and (`bs`.`runs` < 200)) then 1 end)) AS `hundreds`,count((case when ((`bs`.`runs` >= 200) and (`bs`.`runs` < 300)) then 1 end)) AS `twoHundreds`,count((case when ((`bs`.`runs` >= 300) and (`bs`.`runs` < 400)) then 1 end)) AS `threeHundreds`,count((case when ((`bs`.`runs` >= 400) and (`bs`.`runs` < 500)) then 1 end)) AS `fourHundreds` from (`batting_scores` `bs` join `players` `p` on((`p`.`id` = `bs`.`player_id`))) where (`bs`.`game_type` = 0) group by `bs`.`player_id` order by `runs` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `ODI Wickets` AS select `p`.`id`, `p`.`name` AS `name`,sum(`bf`.`wickets`) AS `wickets`,count(0) AS `innings`,sum(`bf`.`balls`) AS `balls`,sum(`bf`.`maidens`) AS `maidens`,sum(`bf`.`runs`) AS `runs`,count((case when ((`bf`.`wickets` >= 5) and (`bf`.`wickets` < 10)) then 1 end)) AS `fifers`,count((case when (`bf`.`wickets` = 10) then 1 end)) AS `tenWickets` from (`bowling_figures` `bf` join `players` `p` on((`p`.`id` = `bf`.`player_id`))) where (`bf`.`game_type` = 0) group by `bf`.`player_id` order by `wickets` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `TEST Catches` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Caught')))) where (`fd`.`game_type` = 1) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `TEST Run Outs` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Run Out')))) where (`fd`.`game_type` = 1) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `TEST Stumpings` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Stumped')))) where (`fd`.`game_type` = 1) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `TEST Runs` AS select `p`.`id`, `p`.`name` AS `name`,sum(`bs`.`runs`) AS `runs`,count(0) AS `innings`,sum(`bs`.`balls`) AS `balls`,sum(`bs`.`fours`) AS `fours`,sum(`bs`.`sixes`) AS `sixes`,max(`bs`.`runs`) AS `highest`,count((case when (`bs`.`mode_of_dismissal` is null) then 1 end)) AS `notouts`,count((case when ((`bs`.`runs` >= 50) and (`bs`.`runs` < 100)) then 1 end)) AS `fifties`,count((case when ((`bs`.`runs` >= 100) and (`bs`.`runs` < 200)) then 1 end)) AS `hundreds`,count((case when ((`bs`.`runs` >= 200) and (`bs`.`runs` < 300)) then 1 end)) AS `twoHundreds`,count((case when ((`bs`.`runs` >= 300) and (`bs`.`runs` < 400)) then 1 end)) AS `threeHundreds`,count((case when ((`bs`.`runs` >= 400) and (`bs`.`runs` < 500)) then 1 end)) AS `fourHundreds` from (`batting_scores` `bs` join `players` `p` on((`p`.`id` = `bs`.`player_id`))) where (`bs`.`game_type` = 1) group by `bs`.`player_id` order by `runs` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `TEST Wickets` AS select `p`.`id`, `p`.`name` AS `name`,sum(`bf`.`wickets`) AS `wickets`,count(0) AS `innings`,sum(`bf`.`balls`) AS `balls`,sum(`bf`.`maidens`) AS `maidens`,sum(`bf`.`runs`) AS `runs`,count((case when ((`bf`.`wickets` >= 5) and (`bf`.`wickets` < 10)) then 1 end)) AS `fifers`,count((case when (`bf`.`wickets` = 10) then 1 end)) AS `tenWickets` from (`bowling_figures` `bf` join `players` `p` on((`p`.`id` = `bf`.`player_id`))) where (`bf`.`game_type` = 1) group by `bf`.`player_id` order by `wickets` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `T20 Catches` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Caught')))) where (`fd`.`game_type` = 2) and (`fd`.`team_type_id` = 0) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `T20 Run Outs` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Run Out')))) where (`fd`.`game_type` = 2) and (`fd`.`team_type_id` = 0) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `T20 Stumpings` AS select `p`.`id`, `p`.`name` AS `name`,count(0) AS `count` from (((`fielder_dismissals` `fd` join `batting_scores` `bs` on((`bs`.`id` = `fd`.`score_id`))) join `players` `p` on(((`p`.`id` = `fd`.`player_id`) and (`p`.`name` <> 'sub')))) join `dismissal_modes` `dm` on(((`dm`.`id` = `bs`.`mode_of_dismissal`) and (`dm`.`name` = 'Stumped')))) where (`fd`.`game_type` = 2) and (`fd`.`team_type_id` = 0) group by `p`.`id` order by `count` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `T20 Runs` AS select `p`.`id`, `p`.`name` AS `name`,sum(`bs`.`runs`) AS `runs`,count(0) AS `innings`,sum(`bs`.`balls`) AS `balls`,sum(`bs`.`fours`) AS `fours`,sum(`bs`.`sixes`) AS `sixes`,max(`bs`.`runs`) AS `highest`,count((case when (`bs`.`mode_of_dismissal` is null) then 1 end)) AS `notouts`,count((case when ((`bs`.`runs` >= 50) and (`bs`.`runs` < 100)) then 1 end)) AS `fifties`,count((case when ((`bs`.`runs` >= 100) and (`bs`.`runs` < 200)) then 1 end)) AS `hundreds`,count((case when ((`bs`.`runs` >= 200) and (`bs`.`runs` < 300)) then 1 end)) AS `twoHundreds`,count((case when ((`bs`.`runs` >= 300) and (`bs`.`runs` < 400)) then 1 end)) AS `threeHundreds`,count((case when ((`bs`.`runs` >= 400) and (`bs`.`runs` < 500)) then 1 end)) AS `fourHundreds` from (`batting_scores` `bs` join `players` `p` on((`p`.`id` = `bs`.`player_id`))) where (`bs`.`game_type` = 2) and (`bs`.`team_type_id` = 0) group by `bs`.`player_id` order by `runs` desc;
+CREATE OR REPLACE SQL SECURITY INVOKER VIEW `T20 Wickets` AS select `p`.`id`, `p`.`name` AS `name`,sum(`bf`.`wickets`) AS `wickets`,count(0) AS `innings`,sum(`bf`.`balls`) AS `balls`,sum(`bf`.`maidens`) AS `maidens`,sum(`bf`.`runs`) AS `runs`,count((case when ((`bf`.`wickets` >= 5) and (`bf`.`wickets` < 10)) then 1 end)) AS `fifers`,count((case when (`bf`.`wickets` = 10) then 1 end)) AS `tenWickets` from (`bowling_figures` `bf` join `players` `p` on((`p`.`id` = `bf`.`player_id`))) where (`bf`.`game_type` = 2) and (`bf`.`team_type_id` = 0) group by `bf`.`player_id` order by `wickets` desc;
@@ -0,0 +1,9 @@
+CREATE TABLE `idempotency_keys` (
+    `idempotency_key` VARCHAR(100) NOT NULL,
+    `operation` VARCHAR(50) NOT NULL,
+    `request_hash` CHAR(64) NOT NULL,
+    `entity_id` INT UNSIGNED NOT NULL,
+    `created_at` BIGINT UNSIGNED NOT NULL,
+    PRIMARY KEY (`idempotency_key`),
+    KEY `ix_ik_operation_entity` (`operation`, `entity_id`)
+) ENGINE = InnoDB;
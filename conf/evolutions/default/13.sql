@@ -0,0 +1,3 @@
+ALTER TABLE `matches` ADD `version` INT UNSIGNED NOT NULL DEFAULT 1;
+
+ALTER TABLE `series` ADD `version` INT UNSIGNED NOT NULL DEFAULT 1;
@@ -0,0 +1,18 @@
+CREATE TABLE `outbox_events` (
+    `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    `aggregate_type` INT UNSIGNED NOT NULL,
+    `aggregate_id` INT UNSIGNED NOT NULL,
+    `change_type` INT UNSIGNED NOT NULL,
+    `aggregate_version` INT UNSIGNED NULL,
+    `payload` TEXT NULL,
+    `created_at` BIGINT UNSIGNED NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `ix_oe_created_at` (`created_at`)
+) ENGINE = InnoDB;
+
+CREATE TABLE `outbox_checkpoints` (
+    `consumer` VARCHAR(100) NOT NULL,
+    `last_event_id` BIGINT UNSIGNED NOT NULL,
+    `updated_at` BIGINT UNSIGNED NOT NULL,
+    PRIMARY KEY (`consumer`)
+) ENGINE = InnoDB;
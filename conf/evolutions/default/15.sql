@@ -0,0 +1 @@
+ALTER TABLE `idempotency_keys` MODIFY `entity_id` INT UNSIGNED NULL;
@@ -0,0 +1,232 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Fixtures
+{
+    private static final int MAX_SERIES = 50;
+    private static final int MAX_PLAYERS = 500;
+    private static final int UPDATE_TARGETS = 16;
+    private static final long CREATE_START_TIME = 4102444800000L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    @Getter
+    private final String baseUrl;
+    @Getter
+    private final List<Long> seriesIds = new ArrayList<>();
+    @Getter
+    private final List<Long> matchIds = new ArrayList<>();
+    @Getter
+    private final List<Long> playerIds = new ArrayList<>();
+    @Getter
+    private final List<String> keywords = new ArrayList<>();
+    private final List<ObjectNode> updateTemplates = new ArrayList<>();
+    private ObjectNode createTemplate;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public Fixtures(String baseUrl)
+    {
+        this.baseUrl = baseUrl;
+    }
+
+    public void discover(HttpClient client) throws IOException, InterruptedException
+    {
+        Set<String> words = new LinkedHashSet<>();
+
+        for(JsonNode series: this.fetch(client, "/cricbuzz/series"))
+        {
+            this.seriesIds.add(series.get("id").asLong());
+        }
+        for(Long seriesId: this.seriesIds.subList(0, Math.min(MAX_SERIES, this.seriesIds.size())))
+        {
+            for(JsonNode match: this.fetch(client, "/cricbuzz/series/" + seriesId).path("matches"))
+            {
+                this.matchIds.add(match.get("id").asLong());
+            }
+        }
+        for(JsonNode player: this.fetch(client, "/cricbuzz/players/all/0/" + MAX_PLAYERS))
+        {
+            this.playerIds.add(player.get("id").asLong());
+            words.add(firstWord(player.get("name").asText()));
+        }
+        for(JsonNode team: this.fetch(client, "/cricbuzz/teams"))
+        {
+            words.add(firstWord(team.get("name").asText()));
+        }
+        for(JsonNode stadium: this.fetch(client, "/cricbuzz/stadiums"))
+        {
+            words.add(firstWord(stadium.get("name").asText()));
+        }
+        words.remove("");
+        this.keywords.addAll(words);
+
+        if(this.matchIds.isEmpty() || this.playerIds.isEmpty() || this.keywords.isEmpty())
+        {
+            throw new IllegalStateException("Target has no matches, players or names to search; seed it with the dataset generator first");
+        }
+
+        for(Long matchId: this.matchIds.subList(0, Math.min(UPDATE_TARGETS, this.matchIds.size())))
+        {
+            this.updateTemplates.add(this.scorecard(this.fetch(client, "/cricbuzz/matches/" + matchId)));
+        }
+        this.createTemplate = this.updateTemplates.get(0);
+    }
+
+    public <T> T pick(List<T> values, ThreadLocalRandom random)
+    {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    public byte[] nextCreateRequest()
+    {
+        ObjectNode request = this.createTemplate.deepCopy();
+        long sequence = this.sequence.incrementAndGet();
+        request.put("startTime", CREATE_START_TIME + sequence * 60000L);
+        request.put("tag", "loadtest-" + sequence);
+        return this.bytes(request);
+    }
+
+    public Update nextUpdateRequest(ThreadLocalRandom random)
+    {
+        int target = random.nextInt(this.updateTemplates.size());
+        ObjectNode request = this.updateTemplates.get(target).deepCopy();
+        request.put("tag", "loadtest-" + random.nextInt(2));
+        return new Update(this.matchIds.get(target), this.bytes(request));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Update
+    {
+        private final Long matchId;
+        private final byte[] body;
+    }
+
+    private ObjectNode scorecard(JsonNode match)
+    {
+        ObjectNode request = this.mapper.createObjectNode();
+        request.set("seriesId", match.get("series"));
+        request.set("team1", match.get("team1"));
+        request.set("team2", match.get("team2"));
+        request.set("tossWinner", match.get("tossWinner"));
+        request.set("batFirst", match.get("batFirst"));
+        request.set("result", match.get("result"));
+        request.set("winner", match.get("winner"));
+        request.set("winMargin", match.get("winMargin"));
+        request.set("winMarginType", match.get("winMarginType"));
+        request.set("stadium", match.get("stadiumId"));
+        request.set("startTime", match.get("startTime"));
+        request.set("tag", match.get("tag"));
+
+        ArrayNode players = request.putArray("players");
+        for(JsonNode player: match.path("players"))
+        {
+            players.addObject().put("playerId", player.get("playerId").asText()).put("teamId", player.get("teamId").asText());
+        }
+        request.putArray("bench");
+
+        ArrayNode extras = request.putArray("extras");
+        for(JsonNode extra: match.path("extras"))
+        {
+            ObjectNode extraRaw = extras.addObject();
+            for(String field: new String[]{"runs", "type", "battingTeam", "bowlingTeam", "innings", "teamInnings"})
+            {
+                extraRaw.put(field, extra.get(field).asText());
+            }
+        }
+
+        ArrayNode battingScores = request.putArray("battingScores");
+        for(JsonNode battingScore: match.path("battingScores"))
+        {
+            ObjectNode battingScoreRaw = battingScores.addObject();
+            for(String field: new String[]{"playerId", "runs", "balls", "fours", "sixes", "innings", "teamInnings"})
+            {
+                battingScoreRaw.put(field, battingScore.get(field).asText());
+            }
+            if(!battingScore.path("dismissalMode").isNull() && !battingScore.path("dismissalMode").isMissingNode())
+            {
+                battingScoreRaw.put("dismissalMode", battingScore.get("dismissalMode").asText());
+            }
+            if(battingScore.path("bowler").has("playerId"))
+            {
+                battingScoreRaw.put("bowlerId", battingScore.get("bowler").get("playerId").asText());
+            }
+            List<String> fielders = new ArrayList<>();
+            for(JsonNode fielder: battingScore.path("fielders"))
+            {
+                fielders.add(fielder.get("playerId").asText());
+            }
+            if(!fielders.isEmpty())
+            {
+                battingScoreRaw.put("fielders", String.join(", ", fielders));
+            }
+        }
+
+        ArrayNode bowlingFigures = request.putArray("bowlingFigures");
+        for(JsonNode bowlingFigure: match.path("bowlingFigures"))
+        {
+            ObjectNode bowlingFigureRaw = bowlingFigures.addObject();
+            for(String field: new String[]{"playerId", "balls", "maidens", "runs", "wickets", "innings", "teamInnings"})
+            {
+                bowlingFigureRaw.put(field, bowlingFigure.get(field).asText());
+            }
+        }
+
+        for(String field: new String[]{"manOfTheMatchList", "captains", "wicketKeepers"})
+        {
+            ArrayNode playerIds = request.putArray(field);
+            for(JsonNode entry: match.path(field))
+            {
+                playerIds.add(entry.get("playerId").asLong());
+            }
+        }
+
+        return request;
+    }
+
+    private JsonNode fetch(HttpClient client, String path) throws IOException, InterruptedException
+    {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(this.baseUrl + path)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if(200 != response.statusCode())
+        {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return this.mapper.readTree(response.body());
+    }
+
+    private byte[] bytes(JsonNode node)
+    {
+        try
+        {
+            return this.mapper.writeValueAsBytes(node);
+        }
+        catch(IOException ex)
+        {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String firstWord(String name)
+    {
+        String trimmed = name.trim();
+        int space = trimmed.indexOf(' ');
+        return (-1 == space) ? trimmed : trimmed.substring(0, space);
+    }
+}
@@ -0,0 +1,277 @@
+package loadtest;
+
+import bench.BenchApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import play.test.TestServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTest
+{
+    private static final String DEFAULT_MIX = "scorecard=40,player=20,series=15,search=15,create=5,update=5";
+
+    private final HttpClient client;
+    private final Fixtures fixtures;
+    private final PoolSampler poolSampler;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final double rate;
+    private final int concurrency;
+    private final Duration timeout;
+    private final Queue<Long> createdMatchIds = new ConcurrentLinkedQueue<>();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private volatile Map<Scenario, ScenarioStats> stats;
+
+    public LoadTest(HttpClient client, Fixtures fixtures, PoolSampler poolSampler, Map<Scenario, Integer> mix, double rate, int concurrency, Duration timeout)
+    {
+        this.client = client;
+        this.fixtures = fixtures;
+        this.poolSampler = poolSampler;
+        this.scenarios = mix.keySet().toArray(new Scenario[0]);
+        this.cumulativeWeights = new int[this.scenarios.length];
+        int total = 0;
+        for(int i = 0; i < this.scenarios.length; i++)
+        {
+            total += mix.get(this.scenarios[i]);
+            this.cumulativeWeights[i] = total;
+        }
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:9000");
+        boolean server = Boolean.getBoolean("loadtest.server");
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        int concurrency = Integer.getInteger("loadtest.concurrency", 256);
+        long warmupSeconds = Long.getLong("loadtest.warmup", 10L);
+        long durationSeconds = Long.getLong("loadtest.duration", 60L);
+        Duration timeout = Duration.ofSeconds(Long.getLong("loadtest.timeout", 10L));
+        Map<Scenario, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+        TestServer testServer = null;
+        if(server)
+        {
+            int port = Integer.getInteger("loadtest.port", 19000);
+            testServer = new TestServer(port, BenchApplication.start());
+            testServer.start();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(5)).version(HttpClient.Version.HTTP_1_1).build();
+        try(PoolSampler poolSampler = new PoolSampler(client, baseUrl))
+        {
+            Fixtures fixtures = new Fixtures(baseUrl);
+            fixtures.discover(client);
+            System.out.println("Target " + baseUrl + ": " + fixtures.getMatchIds().size() + " matches, " + fixtures.getPlayerIds().size() + " players, " + fixtures.getSeriesIds().size() + " series, " + fixtures.getKeywords().size() + " keywords");
+            System.out.println((rate > 0 ? ("Open model at " + rate + " req/s, ") : "Closed model, ") + concurrency + " max in flight, mix " + mix);
+
+            poolSampler.start(250L);
+            LoadTest loadTest = new LoadTest(client, fixtures, poolSampler, mix, rate, concurrency, timeout);
+
+            loadTest.run(TimeUnit.SECONDS.toNanos(warmupSeconds));
+            poolSampler.reset();
+            long elapsed = loadTest.run(TimeUnit.SECONDS.toNanos(durationSeconds));
+            loadTest.report(elapsed);
+            System.out.println(poolSampler.report());
+
+            loadTest.cleanUp();
+        }
+        finally
+        {
+            executor.shutdownNow();
+            if(null != testServer)
+            {
+                testServer.stop();
+                BenchApplication.stop();
+            }
+        }
+    }
+
+    public long run(long durationNanos) throws InterruptedException
+    {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        for(Scenario scenario: this.scenarios)
+        {
+            stats.put(scenario, new ScenarioStats());
+        }
+        this.stats = stats;
+
+        Semaphore inFlight = new Semaphore(this.concurrency);
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+
+        if(this.rate > 0)
+        {
+            double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / this.rate;
+            long next = start;
+            while(next < end)
+            {
+                long now = System.nanoTime();
+                if(next > now)
+                {
+                    LockSupport.parkNanos(next - now);
+                }
+
+                Scenario scenario = this.nextScenario();
+                if(inFlight.tryAcquire())
+                {
+                    this.send(scenario, next, inFlight);
+                }
+                else
+                {
+                    stats.get(scenario).drop();
+                }
+                next += (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos);
+            }
+        }
+        else
+        {
+            while(System.nanoTime() < end)
+            {
+                inFlight.acquire();
+                this.send(this.nextScenario(), System.nanoTime(), inFlight);
+            }
+        }
+
+        inFlight.acquire(this.concurrency);
+        return System.nanoTime() - start;
+    }
+
+    private void send(Scenario scenario, long intendedStart, Semaphore inFlight)
+    {
+        ScenarioStats stats = this.stats.get(scenario);
+        long poolPending = this.poolSampler.currentPending();
+        HttpRequest request;
+        try
+        {
+            request = scenario.request(this.fixtures, ThreadLocalRandom.current()).timeout(this.timeout).build();
+        }
+        catch(RuntimeException ex)
+        {
+            stats.record(System.nanoTime() - intendedStart, true, poolPending);
+            inFlight.release();
+            return;
+        }
+
+        this.client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intendedStart;
+            boolean failed = (null != error) || (response.statusCode() >= 400);
+            stats.record(latency, failed, poolPending);
+            if(!failed && (Scenario.CREATE == scenario))
+            {
+                this.rememberCreated(response.body());
+            }
+            inFlight.release();
+        });
+    }
+
+    private Scenario nextScenario()
+    {
+        int pick = ThreadLocalRandom.current().nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+        for(int i = 0; i < this.cumulativeWeights.length; i++)
+        {
+            if(pick < this.cumulativeWeights[i])
+            {
+                return this.scenarios[i];
+            }
+        }
+        return this.scenarios[this.scenarios.length - 1];
+    }
+
+    private void rememberCreated(byte[] body)
+    {
+        try
+        {
+            this.createdMatchIds.add(this.mapper.readTree(body).get("id").asLong());
+        }
+        catch(Exception ex)
+        {
+            System.err.println("Could not read created match id: " + ex);
+        }
+    }
+
+    private void report(long elapsedNanos)
+    {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println(String.format("%-10s %9s %9s %9s %9s %9s %9s %8s %8s %8s", "scenario", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "dropped", "pending"));
+        long total = 0L;
+        long errors = 0L;
+        for(Map.Entry<Scenario, ScenarioStats> entry: this.stats.entrySet())
+        {
+            ScenarioStats stats = entry.getValue();
+            long[] percentiles = stats.percentilesMicros(0.5, 0.99, 0.999);
+            long count = stats.getCount();
+            System.out.println(String.format("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7.2f%% %8d %8.2f",
+                entry.getKey().getKey(), count, count / seconds,
+                percentiles[0] / 1000.0, percentiles[1] / 1000.0, percentiles[2] / 1000.0, stats.getMaxMicros() / 1000.0,
+                (0L == count) ? 0.0 : (100.0 * stats.getErrors() / count), stats.getDropped(), stats.getMeanPoolPending()));
+            total += count;
+            errors += stats.getErrors();
+        }
+        System.out.println(String.format("total      %9d %9.1f req/s, %d errors over %.1fs", total, total / seconds, errors, seconds));
+    }
+
+    private void cleanUp()
+    {
+        List<Long> failed = new ArrayList<>();
+        for(Long matchId: this.createdMatchIds)
+        {
+            try
+            {
+                HttpResponse<Void> response = this.client.send(HttpRequest.newBuilder(URI.create(this.fixtures.getBaseUrl() + "/cricbuzz/matches/" + matchId)).DELETE().build(), HttpResponse.BodyHandlers.discarding());
+                if(response.statusCode() >= 400)
+                {
+                    failed.add(matchId);
+                }
+            }
+            catch(Exception ex)
+            {
+                failed.add(matchId);
+            }
+        }
+        if(!failed.isEmpty())
+        {
+            System.err.println("Could not delete created matches " + failed);
+        }
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix)
+    {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for(String entry: mix.split(","))
+        {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if(weight > 0)
+            {
+                weights.put(Scenario.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if(weights.isEmpty())
+        {
+            throw new IllegalArgumentException("Scenario mix " + mix + " has no positive weights");
+        }
+        return weights;
+    }
+}
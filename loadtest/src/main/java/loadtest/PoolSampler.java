@@ -0,0 +1,155 @@
+package loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class PoolSampler implements AutoCloseable
+{
+    private static final String ACTIVE = "hikaricp_connections_active";
+    private static final String PENDING = "hikaricp_connections_pending";
+    private static final String MAX = "hikaricp_connections_max";
+    private static final String TIMEOUTS = "hikaricp_connection_timeouts";
+    private static final String ACQUIRE_P99 = "hikaricp_connection_acquire_seconds{pool=\"default\",quantile=\"0.99\"}";
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long pending = 0L;
+    private volatile Map<String, Double> last = new HashMap<>();
+    private long samples = 0L;
+    private double activeSum = 0.0;
+    private double maxActive = 0.0;
+    private double maxPending = 0.0;
+    private double saturatedSamples = 0.0;
+    private double timeoutsAtStart = -1.0;
+
+    public PoolSampler(HttpClient client, String baseUrl)
+    {
+        this.client = client;
+        this.request = HttpRequest.newBuilder(URI.create(baseUrl + "/metrics")).GET().build();
+    }
+
+    public void start(long periodMillis)
+    {
+        this.scheduler.scheduleAtFixedRate(this::sample, 0L, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public long currentPending()
+    {
+        return this.pending;
+    }
+
+    public synchronized void reset()
+    {
+        this.samples = 0L;
+        this.activeSum = 0.0;
+        this.maxActive = 0.0;
+        this.maxPending = 0.0;
+        this.saturatedSamples = 0.0;
+        this.timeoutsAtStart = this.sum(this.last, TIMEOUTS);
+    }
+
+    public synchronized String report()
+    {
+        if(0L == this.samples)
+        {
+            return "pool: no samples (is /metrics reachable?)";
+        }
+        Map<String, Double> last = this.last;
+        return String.format("pool: max=%.0f active(mean=%.1f max=%.0f) pending(max=%.0f) saturated=%.0f%% timeouts=%.0f acquire_p99=%.2fms",
+            this.sum(last, MAX), this.activeSum / this.samples, this.maxActive, this.maxPending,
+            100.0 * this.saturatedSamples / this.samples, this.sum(last, TIMEOUTS) - Math.max(0.0, this.timeoutsAtStart),
+            1000.0 * last.getOrDefault(ACQUIRE_P99, 0.0));
+    }
+
+    @Override
+    public void close()
+    {
+        this.scheduler.shutdownNow();
+    }
+
+    private void sample()
+    {
+        try
+        {
+            HttpResponse<String> response = this.client.send(this.request, HttpResponse.BodyHandlers.ofString());
+            Map<String, Double> values = parse(response.body());
+            double active = this.sum(values, ACTIVE);
+            double pending = this.sum(values, PENDING);
+            double max = this.sum(values, MAX);
+            this.pending = (long) pending;
+            this.last = values;
+
+            synchronized(this)
+            {
+                this.samples++;
+                this.activeSum += active;
+                this.maxActive = Math.max(this.maxActive, active);
+                this.maxPending = Math.max(this.maxPending, pending);
+                if((max > 0.0) && (active >= max))
+                {
+                    this.saturatedSamples++;
+                }
+                if(this.timeoutsAtStart < 0.0)
+                {
+                    this.timeoutsAtStart = this.sum(values, TIMEOUTS);
+                }
+            }
+        }
+        catch(Exception ex)
+        {
+            this.pending = 0L;
+        }
+    }
+
+    private double sum(Map<String, Double> values, String name)
+    {
+        double total = 0.0;
+        for(Map.Entry<String, Double> entry: values.entrySet())
+        {
+            String key = entry.getKey();
+            if(key.equals(name) || key.startsWith(name + "{"))
+            {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, Double> parse(String body)
+    {
+        Map<String, Double> values = new HashMap<>();
+        for(String line: body.split("\n"))
+        {
+            if(line.isEmpty() || line.startsWith("#"))
+            {
+                continue;
+            }
+            int space = line.lastIndexOf(' ');
+            if(-1 != space)
+            {
+                try
+                {
+                    values.put(line.substring(0, space), Double.parseDouble(line.substring(space + 1)));
+                }
+                catch(NumberFormatException ex)
+                {
+                    // skip
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,98 @@
+package loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+public enum Scenario
+{
+    SCORECARD("scorecard")
+    {
+        @Override
+        public HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random)
+        {
+            return get(fixtures, "/cricbuzz/matches/" + fixtures.pick(fixtures.getMatchIds(), random));
+        }
+    },
+    PLAYER("player")
+    {
+        @Override
+        public HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random)
+        {
+            return get(fixtures, "/cricbuzz/players/" + fixtures.pick(fixtures.getPlayerIds(), random));
+        }
+    },
+    SERIES("series")
+    {
+        @Override
+        public HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random)
+        {
+            return get(fixtures, "/cricbuzz/series/" + fixtures.pick(fixtures.getSeriesIds(), random));
+        }
+    },
+    SEARCH("search")
+    {
+        @Override
+        public HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random)
+        {
+            String[] resources = {"players", "teams", "series", "stadiums"};
+            String keyword = URLEncoder.encode(fixtures.pick(fixtures.getKeywords(), random), StandardCharsets.UTF_8).replace("+", "%20");
+            return get(fixtures, "/cricbuzz/" + resources[random.nextInt(resources.length)] + "/keyword/" + keyword);
+        }
+    },
+    CREATE("create")
+    {
+        @Override
+        public HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random)
+        {
+            return json(fixtures, "/cricbuzz/matches").POST(HttpRequest.BodyPublishers.ofByteArray(fixtures.nextCreateRequest()));
+        }
+    },
+    UPDATE("update")
+    {
+        @Override
+        public HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random)
+        {
+            Fixtures.Update update = fixtures.nextUpdateRequest(random);
+            return json(fixtures, "/cricbuzz/matches/" + update.getMatchId()).PUT(HttpRequest.BodyPublishers.ofByteArray(update.getBody()));
+        }
+    };
+
+    private final String key;
+
+    Scenario(String key)
+    {
+        this.key = key;
+    }
+
+    public String getKey()
+    {
+        return this.key;
+    }
+
+    public abstract HttpRequest.Builder request(Fixtures fixtures, ThreadLocalRandom random);
+
+    public static Scenario fromKey(String key)
+    {
+        for(Scenario scenario: values())
+        {
+            if(scenario.key.equals(key))
+            {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario " + key);
+    }
+
+    private static HttpRequest.Builder get(Fixtures fixtures, String path)
+    {
+        return HttpRequest.newBuilder(URI.create(fixtures.getBaseUrl() + path)).GET();
+    }
+
+    private static HttpRequest.Builder json(Fixtures fixtures, String path)
+    {
+        return HttpRequest.newBuilder(URI.create(fixtures.getBaseUrl() + path)).header("Content-Type", "application/json");
+    }
+}
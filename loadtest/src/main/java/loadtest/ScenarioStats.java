@@ -0,0 +1,59 @@
+package loadtest;
+
+import metrics.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ScenarioStats
+{
+    private final Histogram latencyMicros = new Histogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder poolPendingAtArrival = new LongAdder();
+
+    public void record(long latencyNanos, boolean failed, long poolPending)
+    {
+        this.latencyMicros.record(latencyNanos / 1000L);
+        this.poolPendingAtArrival.add(poolPending);
+        if(failed)
+        {
+            this.errors.increment();
+        }
+    }
+
+    public void drop()
+    {
+        this.dropped.increment();
+    }
+
+    public long getCount()
+    {
+        return this.latencyMicros.getCount();
+    }
+
+    public long getErrors()
+    {
+        return this.errors.sum();
+    }
+
+    public long getDropped()
+    {
+        return this.dropped.sum();
+    }
+
+    public long getMaxMicros()
+    {
+        return this.latencyMicros.getMax();
+    }
+
+    public long[] percentilesMicros(double... quantiles)
+    {
+        return this.latencyMicros.percentiles(quantiles);
+    }
+
+    public double getMeanPoolPending()
+    {
+        long count = this.getCount();
+        return (0L == count) ? 0.0 : ((double) this.poolPendingAtArrival.sum() / count);
+    }
+}
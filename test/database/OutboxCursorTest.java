@@ -0,0 +1,88 @@
+package database;
+
+import models.OutboxEvent;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OutboxCursorTest
+{
+    private static final long GAP_TIMEOUT_MILLIS = 10000L;
+
+    private static List<OutboxEvent> events(long... ids)
+    {
+        return Arrays.stream(ids).mapToObj(id -> {
+            OutboxEvent event = new OutboxEvent();
+            event.setId(id);
+            return event;
+        }).collect(Collectors.toList());
+    }
+
+    private static Set<Long> transactions(Long... ids)
+    {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    // Reads 1 and 3 while the transaction that took id 2 is open, and moves past 2 once gapTimeout has passed
+    private static OutboxCursor skippedPastTwo()
+    {
+        OutboxCursor cursor = new OutboxCursor(100, GAP_TIMEOUT_MILLIS);
+        cursor.start(0L);
+
+        assertEquals(1, cursor.contiguous(events(1L, 3L), 0L).size());
+
+        List<OutboxEvent> batch = cursor.contiguous(events(1L, 3L), GAP_TIMEOUT_MILLIS);
+        assertEquals(2, batch.size());
+        assertTrue(cursor.skipsIds(batch));
+        assertTrue(cursor.advance(batch, transactions(77L), GAP_TIMEOUT_MILLIS).isEmpty());
+
+        assertEquals(3L, cursor.getPosition());
+        assertEquals(1L, cursor.getCommittedPosition());
+        assertEquals(Collections.singleton(2L), cursor.getPendingGaps());
+        return cursor;
+    }
+
+    @Test
+    public void rolledBackIdIsDroppedOnceItsTransactionsEnd()
+    {
+        OutboxCursor cursor = skippedPastTwo();
+
+        // Still open long after gapTimeout, so 2 may yet commit
+        assertTrue(cursor.settle(Collections.emptyList(), transactions(77L, 78L), 10 * GAP_TIMEOUT_MILLIS).isEmpty());
+        assertEquals(1L, cursor.getCommittedPosition());
+
+        assertEquals(Collections.singletonList(2L), cursor.settle(Collections.emptyList(), transactions(78L), 10 * GAP_TIMEOUT_MILLIS));
+        assertTrue(cursor.getPendingGaps().isEmpty());
+        assertEquals(3L, cursor.getCommittedPosition());
+    }
+
+    @Test
+    public void lateCommitIsPickedUpOnALaterPass()
+    {
+        OutboxCursor cursor = skippedPastTwo();
+
+        assertTrue(cursor.settle(events(2L), transactions(), GAP_TIMEOUT_MILLIS + 1).isEmpty());
+        assertTrue(cursor.getPendingGaps().isEmpty());
+        assertEquals(3L, cursor.getCommittedPosition());
+    }
+
+    @Test
+    public void pendingIdsExpireAfterGapTimeoutWhenTransactionsCannotBeListed()
+    {
+        OutboxCursor cursor = new OutboxCursor(100, GAP_TIMEOUT_MILLIS);
+        cursor.start(0L);
+        cursor.contiguous(events(2L), 0L);
+        cursor.advance(cursor.contiguous(events(2L), GAP_TIMEOUT_MILLIS), null, GAP_TIMEOUT_MILLIS);
+
+        assertTrue(cursor.settle(Collections.emptyList(), null, (2 * GAP_TIMEOUT_MILLIS) - 1).isEmpty());
+        assertEquals(Collections.singletonList(1L), cursor.settle(Collections.emptyList(), null, 2 * GAP_TIMEOUT_MILLIS));
+    }
+}
@@ -0,0 +1,29 @@
+package database;
+
+import java.util.function.Supplier;
+
+public class QueryAssertions
+{
+    public static <T> T assertMaxQueries(int maxQueries, Supplier<T> call)
+    {
+        QueryCounter.Scope scope = QueryCounter.open("assertMaxQueries");
+        int before = scope.getCount();
+        T result;
+        try
+        {
+            result = call.get();
+        }
+        finally
+        {
+            scope.close();
+        }
+
+        int executed = scope.getCount() - before;
+        if(executed > maxQueries)
+        {
+            throw new AssertionError("Expected at most " + maxQueries + " queries but " + executed + " were executed. Statements: " + scope.getShapes());
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package database;
+
+import org.junit.Test;
+
+import static database.QueryAssertions.assertMaxQueries;
+import static org.junit.Assert.assertEquals;
+
+public class QueryCounterTest
+{
+    @Test
+    public void statementWithoutSqlIsRecordedAsBatch()
+    {
+        int recorded = assertMaxQueries(2, () -> {
+            QueryCounter.record("select id from matches where id = 7");
+            QueryCounter.record(null);
+            return QueryCounter.count();
+        });
+
+        assertEquals(2, recorded);
+        assertEquals(QueryCounter.BATCH, QueryCounter.shape(null));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void exceedingTheLimitFails()
+    {
+        assertMaxQueries(1, () -> {
+            QueryCounter.record("select id from matches where id = 7");
+            QueryCounter.record("select id from matches where id = 8");
+            return null;
+        });
+    }
+}
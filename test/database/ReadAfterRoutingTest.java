@@ -0,0 +1,56 @@
+package database;
+
+import org.junit.Test;
+import play.test.Helpers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ReadAfterRoutingTest
+{
+    private static final long DEFAULT_MAX_STALENESS_MILLIS = 5000L;
+
+    private static ReadConsistency readAfter(String token)
+    {
+        return ReadConsistency.from(Helpers.fakeRequest("GET", "/cricbuzz/matches/1").header(ReadConsistency.READ_AFTER_HEADER, token).build());
+    }
+
+    private static ReplicaStatus appliedUpTo(String file, long position)
+    {
+        return new ReplicaStatus(true, 0L, new BinlogPosition(file, position));
+    }
+
+    // Instance A took the write and its last probe saw the replica past it; instance B probed just before the write
+    // replayed. Both report zero lag, so only the binlog position keeps B's read on the primary
+    @Test
+    public void readAfterAWriteOnAnotherInstanceWaitsForTheReplicaToExecuteIt()
+    {
+        ReadConsistency consistency = readAfter("binlog.000012:4521");
+        ReplicaStatus instanceA = appliedUpTo("binlog.000012", 4600L);
+        ReplicaStatus instanceB = appliedUpTo("binlog.000012", 4000L);
+
+        assertTrue(instanceA.canServe(consistency, DEFAULT_MAX_STALENESS_MILLIS));
+        assertFalse(instanceB.canServe(consistency, DEFAULT_MAX_STALENESS_MILLIS));
+
+        ReplicaStatus instanceBAfterRotation = appliedUpTo("binlog.000013", 120L);
+        assertTrue(instanceBAfterRotation.canServe(consistency, DEFAULT_MAX_STALENESS_MILLIS));
+    }
+
+    @Test
+    public void replicaWithoutAnAppliedPositionOnlyServesReadsWithoutAToken()
+    {
+        ReplicaStatus unknownPosition = new ReplicaStatus(true, 0L, null);
+
+        assertFalse(unknownPosition.canServe(readAfter("binlog.000012:4521"), DEFAULT_MAX_STALENESS_MILLIS));
+        assertTrue(unknownPosition.canServe(ReadConsistency.REPLICA, DEFAULT_MAX_STALENESS_MILLIS));
+        assertTrue(ReplicaStatus.NOT_REPLICATING.canServe(readAfter("binlog.000012:4521"), DEFAULT_MAX_STALENESS_MILLIS));
+        assertFalse(ReplicaStatus.UNKNOWN.canServe(ReadConsistency.REPLICA, DEFAULT_MAX_STALENESS_MILLIS));
+    }
+
+    @Test
+    public void malformedTokenIsIgnored()
+    {
+        assertSame(ReadConsistency.REPLICA, readAfter("1729350000000"));
+    }
+}
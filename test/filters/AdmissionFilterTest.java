@@ -0,0 +1,63 @@
+package filters;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import metrics.MetricsRegistry;
+import metrics.PoolMetrics;
+import org.junit.Test;
+import play.db.DBApi;
+import play.db.Database;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+import play.test.Helpers;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdmissionFilterTest
+{
+    private static final Config CONFIG = ConfigFactory.parseString(
+        "admission { enabled = true, retryAfter = 1 s, defaultPriority = normal, "
+            + "limits { low { maxInFlight = 16, maxPoolPending = 3, maxAcquireWait = 50 ms } }, "
+            + "routes { \"*.getAll\" = low } }"
+    );
+
+    private static AdmissionFilter filter()
+    {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        DBApi dbApi = new DBApi()
+        {
+            @Override
+            public List<Database> getDatabases()
+            {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Database getDatabase(String name)
+            {
+                return null;
+            }
+
+            @Override
+            public void shutdown()
+            {
+            }
+        };
+        return new AdmissionFilter(null, CONFIG, metricsRegistry, new PoolMetrics(dbApi, metricsRegistry));
+    }
+
+    @Test
+    public void unmatchedPathReachesTheRouter() throws Exception
+    {
+        Http.RequestHeader request = Helpers.fakeRequest("GET", "/cricbuzz/no-such-path").build();
+
+        Result result = filter().apply(header -> CompletableFuture.completedFuture(Results.notFound()), request).toCompletableFuture().get();
+
+        assertEquals(Http.Status.NOT_FOUND, result.status());
+    }
+}